@@ -1,5 +1,6 @@
 plugins {
     id("java")
+    id("me.champeau.jmh") version "0.7.3"
 }
 
 group = "org.slimecraft"
@@ -21,4 +22,35 @@ dependencies {
 
 tasks.test {
     useJUnitPlatform()
-}
\ No newline at end of file
+}
+
+jmh {
+    jmhVersion.set("1.37")
+    profilers.add("gc")
+    resultFormat.set("JSON")
+    resultsFile.set(layout.buildDirectory.file("results/jmh/results.json"))
+}
+
+val loadtest: SourceSet by sourceSets.creating {
+    compileClasspath += sourceSets.main.get().output
+    runtimeClasspath += sourceSets.main.get().output
+}
+
+configurations[loadtest.implementationConfigurationName].extendsFrom(configurations.implementation.get())
+configurations[loadtest.runtimeOnlyConfigurationName].extendsFrom(configurations.runtimeOnly.get())
+
+tasks.register<JavaExec>("loadTest") {
+    group = "verification"
+    description = "Ramps simulated players against an in-process server and reports tick times."
+    classpath = loadtest.runtimeClasspath
+    mainClass.set("org.slimecraft.mutationfactory.LoadTest")
+    workingDir = layout.buildDirectory.dir("loadtest").get().asFile
+    doFirst {
+        // Bots keep their UUIDs from run to run, so creatures stored by a previous run would come back.
+        workingDir.resolve("data/creatures").deleteRecursively()
+        workingDir.mkdirs()
+    }
+    listOf("players", "step", "stage-seconds", "wild-per-stage").forEach { name ->
+        providers.gradleProperty("loadtest.$name").orNull?.let { systemProperty("loadtest.$name", it) }
+    }
+}
@@ -0,0 +1,67 @@
+package org.slimecraft.mutationfactory;
+
+import net.minestom.server.MinecraftServer;
+import net.minestom.server.coordinate.Pos;
+import net.minestom.server.instance.InstanceContainer;
+import net.minestom.server.instance.block.Block;
+
+/**
+ * An in-process server shared by every benchmark of a fork. The server is initialized but never started, so no
+ * network socket is opened; instances created through it tick only when a benchmark ticks them.
+ */
+public final class BenchmarkServer {
+    private static boolean initialized;
+
+    private BenchmarkServer() {
+    }
+
+    /**
+     * Initialize the server the first time it is asked for.
+     */
+    public static synchronized void init() {
+        if (initialized) {
+            return;
+        }
+        MinecraftServer.init();
+        initialized = true;
+    }
+
+    /**
+     * Initialize the server with the given number of threads ticking its chunks. The thread count is only read when
+     * the server is initialized, so this must be the first call into the server made by the fork.
+     */
+    public static synchronized void init(int dispatcherThreads) {
+        if (initialized) {
+            throw new IllegalStateException("The server is already initialized");
+        }
+        System.setProperty("minestom.dispatcher-threads", String.valueOf(dispatcherThreads));
+        init();
+    }
+
+    /**
+     * Create a flat instance with the chunks within the given radius, in chunks, of the origin already loaded.
+     */
+    public static InstanceContainer createInstance(int radius) {
+        init();
+        final InstanceContainer instance = MinecraftServer.getInstanceManager().createInstanceContainer();
+        instance.setGenerator(unit -> unit.modifier().fillHeight(0, 40, Block.STONE));
+        for (int x = -radius; x <= radius; x++) {
+            for (int z = -radius; z <= radius; z++) {
+                instance.loadChunk(x, z).join();
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Get a spawn position spreading the creatures with the given index over the loaded chunks.
+     */
+    public static Pos spread(int index, int radius) {
+        final int width = (radius * 2 + 1) * 16;
+        return new Pos(index % width - radius * 16 + 0.5, 40, (index / width) % width - radius * 16 + 0.5);
+    }
+
+    public static void destroy(InstanceContainer instance) {
+        MinecraftServer.getInstanceManager().unregisterInstance(instance);
+    }
+}
@@ -0,0 +1,162 @@
+package org.slimecraft.mutationfactory;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.format.NamedTextColor;
+import net.kyori.adventure.text.format.TextColor;
+import net.kyori.adventure.text.format.TextDecoration;
+import net.minestom.server.component.DataComponents;
+import net.minestom.server.entity.EntityType;
+import net.minestom.server.item.ItemStack;
+import net.minestom.server.item.Material;
+import net.minestom.server.tag.Tag;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the creature paths that run outside the tick loop: building creatures, picking a random one from the
+ * registry, turning a creature into an item and back, and hashing and comparing creatures. The legacy item round
+ * trip, twelve tags as items were written before the record codec, is kept here as the baseline it is compared
+ * against.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CreatureBenchmark {
+    private static final Tag<String> LEGACY_ENTITY_TYPE = Tag.String("type");
+    private static final Tag<String> LEGACY_SPECIES = Tag.String("species");
+    private static final Tag<Integer> LEGACY_LEVEL = Tag.Integer("level");
+    private static final Tag<Boolean> LEGACY_MALE = Tag.Boolean("male");
+    private static final Tag<Stat> LEGACY_HEALTH = legacyStatTag("health");
+    private static final Tag<Stat> LEGACY_STAMINA = legacyStatTag("stamina");
+    private static final Tag<Stat> LEGACY_OXYGEN = legacyStatTag("oxygen");
+    private static final Tag<Stat> LEGACY_FOOD = legacyStatTag("food");
+    private static final Tag<Stat> LEGACY_WEIGHT = legacyStatTag("weight");
+    private static final Tag<Stat> LEGACY_MELEE = legacyStatTag("melee");
+    private static final Tag<Stat> LEGACY_SPEED = legacyStatTag("speed");
+
+    private Species species;
+    private StatBlock stats;
+    private Creature creature;
+    private Creature other;
+    private ItemStack item;
+
+    @Setup
+    public void setup() {
+        BenchmarkServer.init();
+        this.species = new Species(EntityType.COW, "Bull");
+        this.stats = StatBlock.of(
+                new Stat(100, 100F),
+                new Stat(100, 300F),
+                Stat.EMPTY,
+                Stat.EMPTY,
+                Stat.EMPTY,
+                new Stat(20, 20F),
+                new Stat(0.4F, 1),
+                List.of());
+        this.creature = Creature.tamed(this.species, 30, 50, true, this.stats);
+        this.other = Creature.tamed(this.species, 30, 50, false, this.stats);
+        this.item = CreatureItemStack.toItem(this.creature);
+    }
+
+    @Benchmark
+    public Creature build() {
+        return Creature.builder(this.species, 30, this.stats).build();
+    }
+
+    @Benchmark
+    public Creature registryRandom() {
+        return CreatureRegistry.random();
+    }
+
+    @Benchmark
+    public Creature itemRoundTrip() {
+        return CreatureItemStack.toCreature(CreatureItemStack.toItem(this.creature));
+    }
+
+    @Benchmark
+    public Creature itemDecode() {
+        return CreatureItemStack.toCreature(this.item);
+    }
+
+    @Benchmark
+    public Creature legacyItemRoundTrip() {
+        return fromLegacyItem(toLegacyItem(this.creature));
+    }
+
+    @Benchmark
+    public int creatureHashCode() {
+        return this.creature.hashCode();
+    }
+
+    @Benchmark
+    public void creatureEquals(Blackhole blackhole) {
+        blackhole.consume(this.creature.equals(this.creature));
+        blackhole.consume(this.creature.equals(this.other));
+    }
+
+    /**
+     * The item layout used before creatures were stored as a single record, as it was written then: one tag per
+     * field, and one float tag per core stat holding only its current value, along with the same name and lore.
+     */
+    private static ItemStack toLegacyItem(Creature creature) {
+        final StatBlock stats = creature.getStats();
+        return ItemStack
+                .builder(Material.fromKey(creature.getEntityType().key().asString() + "_spawn_egg"))
+                .build()
+                .with(DataComponents.MAX_STACK_SIZE, 1)
+                .withTag(LEGACY_ENTITY_TYPE, creature.getEntityType().key().asString())
+                .withTag(LEGACY_SPECIES, creature.getSpecies().name())
+                .withTag(LEGACY_LEVEL, creature.getLevel())
+                .withTag(LEGACY_MALE, creature.isMale())
+                .withTag(Creature.BREEDING_TIME_REMAINING, creature.getBreedTime())
+                .withTag(LEGACY_HEALTH, stats.toStat(StatBlock.HEALTH))
+                .withTag(LEGACY_STAMINA, stats.toStat(StatBlock.STAMINA))
+                .withTag(LEGACY_OXYGEN, stats.toStat(StatBlock.OXYGEN))
+                .withTag(LEGACY_FOOD, stats.toStat(StatBlock.FOOD))
+                .withTag(LEGACY_WEIGHT, stats.toStat(StatBlock.WEIGHT))
+                .withTag(LEGACY_MELEE, stats.toStat(StatBlock.MELEE))
+                .withTag(LEGACY_SPEED, stats.toStat(StatBlock.SPEED))
+                .withCustomName(Component.text(creature.getSpecies().name())
+                        .color(NamedTextColor.AQUA)
+                        .decorationIfAbsent(TextDecoration.ITALIC, TextDecoration.State.FALSE))
+                .withLore(
+                        Component.text("Level: ").append(Component.text(creature.getLevel()).color(NamedTextColor.YELLOW))
+                                .decorationIfAbsent(TextDecoration.ITALIC, TextDecoration.State.FALSE)
+                                .colorIfAbsent(NamedTextColor.WHITE),
+                        Component.text("Gender: ")
+                                .append(
+                                        creature.isMale()
+                                                ? Component.text("Male").color(TextColor.fromHexString("#31ddf7"))
+                                                : Component.text("Female").color(TextColor.fromHexString("#ff2bf8")))
+                                .decorationIfAbsent(TextDecoration.ITALIC, TextDecoration.State.FALSE)
+                                .colorIfAbsent(NamedTextColor.WHITE));
+    }
+
+    private static Creature fromLegacyItem(ItemStack item) {
+        final StatBlock stats = StatBlock.of(
+                item.getTag(LEGACY_HEALTH),
+                item.getTag(LEGACY_STAMINA),
+                item.getTag(LEGACY_OXYGEN),
+                item.getTag(LEGACY_FOOD),
+                item.getTag(LEGACY_WEIGHT),
+                item.getTag(LEGACY_MELEE),
+                item.getTag(LEGACY_SPEED),
+                List.of());
+        return Creature.tamed(
+                new Species(EntityType.fromKey(item.getTag(LEGACY_ENTITY_TYPE)), item.getTag(LEGACY_SPECIES)),
+                item.getTag(Creature.BREEDING_TIME_REMAINING),
+                item.getTag(LEGACY_LEVEL),
+                item.getTag(LEGACY_MALE),
+                stats);
+    }
+
+    private static Tag<Stat> legacyStatTag(String name) {
+        return Tag.Float(name).map(value -> new Stat(value, 0), Stat::getCurrentValue);
+    }
+}
@@ -0,0 +1,53 @@
+package org.slimecraft.mutationfactory;
+
+import net.minestom.server.coordinate.Pos;
+import net.minestom.server.instance.InstanceContainer;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the spawn churn of wild creatures: a creature is spawned and despawned again, either built anew and
+ * removed, or taken from and given back to the {@link CreaturePool}. Run with the {@code gc} profiler, the
+ * {@code gc.alloc.rate.norm} of both is the allocation per spawn.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CreaturePoolBenchmark {
+    private static final Pos POSITION = new Pos(8.5, 40, 8.5);
+
+    private InstanceContainer instance;
+    private SpeciesTemplate template;
+    private CreaturePool pool;
+
+    @Setup
+    public void setup() {
+        this.instance = BenchmarkServer.createInstance(1);
+        this.template = CreatureRegistry.get(0);
+        this.pool = CreaturePool.of(this.instance);
+    }
+
+    @TearDown
+    public void tearDown() {
+        BenchmarkServer.destroy(this.instance);
+    }
+
+    @Benchmark
+    public Creature fresh() {
+        final Creature creature = this.template.builder().level(10).build();
+        creature.setInstance(this.instance, POSITION).join();
+        creature.remove();
+        return creature;
+    }
+
+    @Benchmark
+    public Creature pooled() {
+        final Creature creature = this.pool.acquire(this.template, 10, POSITION).join();
+        this.pool.release(creature);
+        return creature;
+    }
+}
@@ -0,0 +1,78 @@
+package org.slimecraft.mutationfactory;
+
+import net.minestom.server.entity.EntityType;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures hash-based collections of creatures as they grow: filling a set, looking every creature up after
+ * each of them was upgraded, and deduplicating creatures by {@link CreatureSnapshot}. Per creature, the cost should
+ * stay flat from a hundred to ten thousand creatures.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CreatureSetBenchmark {
+    @Param({"100", "1000", "10000"})
+    public int creatures;
+
+    private Creature[] population;
+    private Set<Creature> filled;
+
+    @Setup
+    public void setup() {
+        BenchmarkServer.init();
+        final Species species = new Species(EntityType.COW, "Bull");
+        final StatBlock stats = StatBlock.of(
+                new Stat(100, 100F),
+                new Stat(100, 300F),
+                Stat.EMPTY,
+                Stat.EMPTY,
+                Stat.EMPTY,
+                new Stat(20, 20F),
+                new Stat(0.4F, 1),
+                List.of());
+        this.population = new Creature[this.creatures];
+        for (int i = 0; i < this.creatures; i++) {
+            this.population[i] = Creature.tamed(species, 30, 1 + i % 10, i % 2 == 0, stats);
+        }
+        this.filled = new HashSet<>();
+        for (final Creature creature : this.population) {
+            this.filled.add(creature);
+            creature.getStats().upgrade(StatBlock.HEALTH);
+        }
+    }
+
+    @Benchmark
+    public Set<Creature> add() {
+        final Set<Creature> set = new HashSet<>();
+        for (final Creature creature : this.population) {
+            set.add(creature);
+        }
+        return set;
+    }
+
+    @Benchmark
+    public void containsAfterUpgrade(Blackhole blackhole) {
+        for (final Creature creature : this.population) {
+            blackhole.consume(this.filled.contains(creature));
+        }
+    }
+
+    @Benchmark
+    public Set<CreatureSnapshot> deduplicateBySnapshot() {
+        final Set<CreatureSnapshot> set = new HashSet<>();
+        for (final Creature creature : this.population) {
+            set.add(CreatureSnapshot.of(creature));
+        }
+        return set;
+    }
+}
@@ -0,0 +1,84 @@
+package org.slimecraft.mutationfactory;
+
+import net.minestom.server.entity.EntityType;
+import net.minestom.server.event.Event;
+import net.minestom.server.event.EventListener;
+import net.minestom.server.event.EventNode;
+import net.minestom.server.event.entity.EntityAttackEvent;
+import net.minestom.server.instance.InstanceContainer;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of an attack on a creature with the given amount of creatures living in the instance, from the
+ * event call to the end of the creature's {@link CreatureService#handleAttack handler}. The {@code dispatcher} mode
+ * goes through the {@link CreatureEventDispatcher} of the instance, then runs the handler it posted by draining the
+ * {@link InstanceMailbox}, as the next tick would; the benchmark server never ticks, so nothing else drains it. The
+ * {@code listeners} mode registers one filtered listener per creature calling its handler directly, the way services
+ * used to, and is kept as the baseline. The attacker is not a player, so both modes run the same early return of the
+ * handler. The attacked creature is the last one registered, the worst case of the listener chain.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventDispatchBenchmark {
+    private static final int RADIUS = 4;
+
+    @Param({"100", "1000", "10000"})
+    public int creatures;
+
+    @Param({"dispatcher", "listeners"})
+    public String mode;
+
+    private InstanceContainer instance;
+    private InstanceMailbox mailbox;
+    private EventNode<Event> node;
+    private EntityAttackEvent event;
+
+    @Setup
+    public void setup() {
+        this.instance = BenchmarkServer.createInstance(RADIUS);
+        final Species species = new Species(EntityType.COW, "Bull");
+        final StatBlock stats = new StatBlock(0);
+        final List<Creature> spawned = new ArrayList<>(this.creatures);
+        for (int i = 0; i < this.creatures; i++) {
+            spawned.add(Creature.builder(species, 30, stats).build());
+        }
+        if (this.mode.equals("dispatcher")) {
+            for (int i = 0; i < spawned.size(); i++) {
+                spawned.get(i).setInstance(this.instance, BenchmarkServer.spread(i, RADIUS)).join();
+            }
+            this.node = this.instance.eventNode();
+        } else {
+            this.node = EventNode.all("legacy-creature-listeners");
+            for (final Creature creature : spawned) {
+                final CreatureService service = new CreatureService(creature);
+                this.node.addListener(EventListener.builder(EntityAttackEvent.class)
+                        .filter(event -> event.getTarget() == creature)
+                        .handler(service::handleAttack)
+                        .build());
+            }
+        }
+        this.mailbox = InstanceMailbox.of(this.instance);
+        final Creature attacker = Creature.builder(species, 30, stats).build();
+        this.event = new EntityAttackEvent(attacker, spawned.getLast());
+    }
+
+    @TearDown
+    public void tearDown() {
+        BenchmarkServer.destroy(this.instance);
+    }
+
+    @Benchmark
+    public EntityAttackEvent attack() {
+        this.node.call(this.event);
+        this.mailbox.runPosted();
+        return this.event;
+    }
+}
@@ -0,0 +1,57 @@
+package org.slimecraft.mutationfactory;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures batch breeding with {@link Genetics#inheritAll}, as run by breeding-farm simulations. Each invocation
+ * breeds a whole batch of pairings into preallocated blocks; the score divided by the batch size is the cost of a
+ * single pairing.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GeneticsBenchmark {
+    @Param({"1000", "10000"})
+    public int pairings;
+
+    private Genetics genetics;
+    private StatBlock[] first;
+    private StatBlock[] second;
+    private StatBlock[] offspring;
+
+    @Setup
+    public void setup() {
+        final SplittableRandom random = new SplittableRandom(42);
+        this.genetics = Genetics.seeded(42);
+        this.first = new StatBlock[this.pairings];
+        this.second = new StatBlock[this.pairings];
+        this.offspring = new StatBlock[this.pairings];
+        for (int i = 0; i < this.pairings; i++) {
+            this.first[i] = randomBlock(random);
+            this.second[i] = randomBlock(random);
+            this.offspring[i] = new StatBlock(0);
+        }
+    }
+
+    @Benchmark
+    public StatBlock[] inheritAll() {
+        this.genetics.inheritAll(this.first, this.second, this.offspring);
+        return this.offspring;
+    }
+
+    private static StatBlock randomBlock(SplittableRandom random) {
+        final StatBlock block = new StatBlock(0);
+        for (int stat = 0; stat < block.size(); stat++) {
+            final float base = random.nextInt(1, 200);
+            block.set(stat, base, base, base / 10, 0);
+            block.upgrade(stat, random.nextInt(40));
+        }
+        return block;
+    }
+}
@@ -0,0 +1,78 @@
+package org.slimecraft.mutationfactory;
+
+import net.minestom.server.MinecraftServer;
+import net.minestom.server.instance.InstanceContainer;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures a full server tick of an instance populated with creatures spread over many chunks, with the chunks
+ * ticked by one to eight threads. Every fork initializes its own server, since the thread count of the dispatcher
+ * is fixed once the server is initialized.
+ * <p>
+ * No player joins the instance, so the AI level of detail is turned off and every creature thinks every tick; the
+ * AI budget is lifted as well, so no creature is deferred and every run does the same work whatever the thread
+ * count. The {@code aiTicks} counter reports the creatures that ran their AI during an iteration, to be read
+ * against the {@code ticks} counter.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParallelTickBenchmark {
+    private static final int RADIUS = 12;
+
+    @Param({"1", "2", "4", "8"})
+    private int threads;
+
+    @Param({"8000"})
+    private int creatures;
+
+    private InstanceContainer instance;
+
+    @Setup
+    public void setup() {
+        System.setProperty("mutationfactory.ai-level-of-detail", "false");
+        System.setProperty("mutationfactory.ai-budget-nanos", String.valueOf(Long.MAX_VALUE));
+        BenchmarkServer.init(this.threads);
+        this.instance = BenchmarkServer.createInstance(RADIUS);
+        final CompletableFuture<?>[] spawns = new CompletableFuture<?>[this.creatures];
+        final int width = (RADIUS * 2 + 1) * 16;
+        final int step = Math.max(1, width * width / this.creatures);
+        for (int i = 0; i < this.creatures; i++) {
+            spawns[i] = CreatureRegistry.random().setInstance(this.instance, BenchmarkServer.spread(i * step, RADIUS));
+        }
+        CompletableFuture.allOf(spawns).join();
+    }
+
+    @TearDown
+    public void tearDown() {
+        BenchmarkServer.destroy(this.instance);
+    }
+
+    @Benchmark
+    public void tick(Counters counters) {
+        final CreatureAiScheduler scheduler = CreatureAiScheduler.of(this.instance);
+        final long evaluated = scheduler.getEvaluated();
+        MinecraftServer.process().ticker().tick(System.nanoTime());
+        counters.aiTicks += scheduler.getEvaluated() - evaluated;
+        counters.ticks++;
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Counters {
+        public long aiTicks;
+        public long ticks;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            this.aiTicks = 0;
+            this.ticks = 0;
+        }
+    }
+}
@@ -0,0 +1,251 @@
+package org.slimecraft.mutationfactory;
+
+import net.minestom.server.MinecraftServer;
+import net.minestom.server.coordinate.Pos;
+import net.minestom.server.entity.Player;
+import net.minestom.server.entity.PlayerHand;
+import net.minestom.server.event.EventDispatcher;
+import net.minestom.server.event.entity.EntityAttackEvent;
+import net.minestom.server.event.player.PlayerEntityInteractEvent;
+import net.minestom.server.event.player.PlayerStartSneakingEvent;
+import net.minestom.server.event.player.PlayerStopSneakingEvent;
+import net.minestom.server.instance.Instance;
+import net.minestom.server.inventory.PlayerInventory;
+import net.minestom.server.item.ItemStack;
+import net.minestom.server.network.ConnectionManager;
+import net.minestom.server.network.player.GameProfile;
+import net.minestom.server.timer.TaskSchedule;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.random.RandomGenerator;
+
+/**
+ * A simulated player going through the loop a real player would: hunting a wild creature and hitting it until it is
+ * tamed, placing the creatures it tamed, leashing a compatible pair so it breeds, and sneaking at a wild creature to
+ * target it. Every step goes through the same events and {@link MapManager} methods a real client triggers, and runs
+ * in the tick of the bot's player, on the thread that would handle its packets.
+ */
+public final class Bot {
+    private static final double HUNT_RANGE = 48;
+    private static final double REACH = 3;
+    private static final int ATTACK_INTERVAL = 4;
+    private static final int HUNT_TICKS = 30 * 20;
+    private static final int SNEAK_TICKS = 3 * 20;
+    private static final double WANDER_DISTANCE = 16;
+    private static final LongAdder TAMES = new LongAdder();
+    private static final LongAdder PLACEMENTS = new LongAdder();
+    private static final LongAdder PAIRINGS = new LongAdder();
+    private static final LongAdder SNEAKS = new LongAdder();
+
+    private final MutationFactoryPlayer player;
+    private final MapManager mapManager;
+    private final RandomGenerator random;
+    private Phase phase;
+    private int phaseTicks;
+    private @Nullable Creature prey;
+    private @Nullable Creature pendingPartner;
+
+    private Bot(MutationFactoryPlayer player, MapManager mapManager, RandomGenerator random) {
+        this.player = player;
+        this.mapManager = mapManager;
+        this.random = random;
+        this.phase = Phase.HUNT;
+        this.player.scheduler().buildTask(this::tick)
+                .repeat(TaskSchedule.tick(1))
+                .schedule();
+    }
+
+    /**
+     * Connect a new bot with the given name and put it through configuration; it joins the root instance of the
+     * map manager on the next server tick.
+     */
+    public static Bot connect(@NotNull MapManager mapManager, @NotNull String name, @NotNull RandomGenerator random) {
+        final ConnectionManager connections = MinecraftServer.getConnectionManager();
+        final UUID uuid = UUID.nameUUIDFromBytes(("bot:" + name).getBytes(StandardCharsets.UTF_8));
+        final Player player = connections.createPlayer(new BotConnection(), new GameProfile(uuid, name));
+        connections.doConfiguration(player, true);
+        connections.transitionConfigToPlay(player);
+        return new Bot((MutationFactoryPlayer) player, mapManager, random);
+    }
+
+    public MutationFactoryPlayer getPlayer() {
+        return this.player;
+    }
+
+    private void tick() {
+        final Instance instance = this.player.getInstance();
+        if (instance == null) {
+            return;
+        }
+        this.phaseTicks++;
+        switch (this.phase) {
+            case HUNT -> this.hunt(instance);
+            case PLACE -> this.place();
+            case BREED -> this.breed();
+            case SNEAK -> this.sneak(instance);
+        }
+    }
+
+    /**
+     * Chase the closest wild creature and keep hitting it; a tamed creature ends up in the inventory as an item.
+     */
+    private void hunt(Instance instance) {
+        if (this.prey != null && this.prey.isRemoved()) {
+            if (this.prey.isTamed()) {
+                TAMES.increment();
+            }
+            this.prey = null;
+        }
+        final int held = this.countCreatureItems();
+        if (held >= 2 || (held > 0 && this.phaseTicks > HUNT_TICKS)) {
+            this.enter(Phase.PLACE);
+            return;
+        }
+        if (this.phaseTicks > HUNT_TICKS * 2) {
+            this.enter(Phase.SNEAK);
+            return;
+        }
+        if (this.prey == null) {
+            this.prey = CreatureGrid.of(instance).closest(this.player.getPosition(), HUNT_RANGE,
+                    creature -> !creature.isTamed() && !creature.isParked());
+            if (this.prey == null) {
+                this.wander();
+                return;
+            }
+        }
+        if (this.prey.getPosition().distanceSquared(this.player.getPosition()) > REACH * REACH) {
+            this.player.teleport(this.prey.getPosition().add(REACH - 1, 0, 0));
+        }
+        this.player.lookAt(this.prey);
+        if (this.phaseTicks % ATTACK_INTERVAL == 0) {
+            EventDispatcher.call(new EntityAttackEvent(this.player, this.prey));
+        }
+    }
+
+    /**
+     * Place one creature item a tick around the bot, as if it clicked a block while holding it.
+     */
+    private void place() {
+        final PlayerInventory inventory = this.player.getInventory();
+        if (!CreatureItemStack.isCreatureItem(this.player.getItemInMainHand())) {
+            for (int slot = 0; slot < inventory.getSize(); slot++) {
+                final ItemStack item = inventory.getItemStack(slot);
+                if (CreatureItemStack.isCreatureItem(item)) {
+                    inventory.setItemStack(slot, this.player.getItemInMainHand());
+                    this.player.setItemInMainHand(item);
+                    break;
+                }
+            }
+        }
+        final Pos position = this.player.getPosition().add(this.random.nextInt(-4, 5), 0, this.random.nextInt(-4, 5));
+        if (this.mapManager.placeHeldCreature(this.player, position)) {
+            PLACEMENTS.increment();
+        } else {
+            this.enter(Phase.BREED);
+        }
+    }
+
+    /**
+     * Leash two of the bot's creatures of the same species and opposite sexes, one interaction per tick, so they
+     * start breeding.
+     */
+    private void breed() {
+        if (this.pendingPartner != null) {
+            this.interact(this.pendingPartner);
+            this.pendingPartner = null;
+            PAIRINGS.increment();
+            this.enter(Phase.SNEAK);
+            return;
+        }
+        final Instance instance = this.player.getInstance();
+        final BreedingScheduler breeding = BreedingScheduler.of(instance);
+        final List<Creature> creatures = this.player.getCreatures();
+        for (final Creature first : creatures) {
+            if (breeding.isBreeding(first)) {
+                continue;
+            }
+            for (final Creature second : creatures) {
+                if (first.isMale() != second.isMale() && !breeding.isBreeding(second)
+                        && first.getSpecies().isSame(second.getSpecies())) {
+                    this.player.teleport(first.getPosition());
+                    this.interact(first);
+                    this.pendingPartner = second;
+                    return;
+                }
+            }
+        }
+        this.enter(Phase.SNEAK);
+    }
+
+    /**
+     * Look at the closest wild creature while sneaking, so the sneak targeting picks it up, then stand up again.
+     */
+    private void sneak(Instance instance) {
+        if (this.phaseTicks == 1) {
+            final Creature target = CreatureGrid.of(instance).closest(this.player.getPosition(), HUNT_RANGE, creature -> !creature.isTamed());
+            if (target != null) {
+                this.player.lookAt(target);
+            }
+            this.player.setSneaking(true);
+            EventDispatcher.call(new PlayerStartSneakingEvent(this.player));
+            SNEAKS.increment();
+        } else if (this.phaseTicks >= SNEAK_TICKS) {
+            this.player.setSneaking(false);
+            EventDispatcher.call(new PlayerStopSneakingEvent(this.player));
+            this.enter(Phase.HUNT);
+        }
+    }
+
+    private void interact(Creature creature) {
+        EventDispatcher.call(new PlayerEntityInteractEvent(this.player, creature, PlayerHand.MAIN, creature.getPosition()));
+    }
+
+    private void wander() {
+        this.player.teleport(this.player.getPosition().add(
+                this.random.nextDouble(-WANDER_DISTANCE, WANDER_DISTANCE), 0, this.random.nextDouble(-WANDER_DISTANCE, WANDER_DISTANCE)));
+    }
+
+    private int countCreatureItems() {
+        final PlayerInventory inventory = this.player.getInventory();
+        int count = 0;
+        for (int slot = 0; slot < inventory.getSize(); slot++) {
+            if (CreatureItemStack.isCreatureItem(inventory.getItemStack(slot))) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private void enter(Phase phase) {
+        this.phase = phase;
+        this.phaseTicks = 0;
+    }
+
+    public static long getTames() {
+        return TAMES.sum();
+    }
+
+    public static long getPlacements() {
+        return PLACEMENTS.sum();
+    }
+
+    public static long getPairings() {
+        return PAIRINGS.sum();
+    }
+
+    public static long getSneaks() {
+        return SNEAKS.sum();
+    }
+
+    private enum Phase {
+        HUNT,
+        PLACE,
+        BREED,
+        SNEAK
+    }
+}
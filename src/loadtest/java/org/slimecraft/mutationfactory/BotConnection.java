@@ -0,0 +1,52 @@
+package org.slimecraft.mutationfactory;
+
+import net.minestom.server.network.packet.client.common.ClientKeepAlivePacket;
+import net.minestom.server.network.packet.server.SendablePacket;
+import net.minestom.server.network.packet.server.common.KeepAlivePacket;
+import net.minestom.server.network.packet.server.configuration.SelectKnownPacksPacket;
+import net.minestom.server.network.player.PlayerConnection;
+import org.jetbrains.annotations.NotNull;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The connection of a simulated player. Nothing goes over the network: packets sent to the player are counted and
+ * dropped, except for the ones a real client has to answer to stay connected.
+ */
+public final class BotConnection extends PlayerConnection {
+    private static final SocketAddress ADDRESS = new InetSocketAddress(InetAddress.getLoopbackAddress(), 0);
+    private static final LongAdder PACKETS = new LongAdder();
+
+    @Override
+    public void sendPacket(@NotNull SendablePacket packet) {
+        PACKETS.increment();
+        if (packet instanceof final KeepAlivePacket keepAlive && this.getPlayer() != null) {
+            this.getPlayer().addPacketToQueue(new ClientKeepAlivePacket(keepAlive.id()));
+        }
+    }
+
+    /**
+     * Claim to know every pack the server offers, as a vanilla client would, instead of waiting for an answer.
+     */
+    @Override
+    public @NotNull CompletableFuture<List<SelectKnownPacksPacket.Entry>> requestKnownPacks(@NotNull List<SelectKnownPacksPacket.Entry> serverPacks) {
+        return CompletableFuture.completedFuture(serverPacks);
+    }
+
+    @Override
+    public @NotNull SocketAddress getRemoteAddress() {
+        return ADDRESS;
+    }
+
+    /**
+     * Get the packets sent to every bot so far.
+     */
+    public static long getPackets() {
+        return PACKETS.sum();
+    }
+}
@@ -0,0 +1,133 @@
+package org.slimecraft.mutationfactory;
+
+import com.sun.management.ThreadMXBean;
+import net.minestom.server.Auth;
+import net.minestom.server.MinecraftServer;
+import net.minestom.server.ServerFlag;
+import net.minestom.server.ServerProcess;
+import net.minestom.server.coordinate.Pos;
+import net.minestom.server.entity.Entity;
+import net.minestom.server.instance.InstanceContainer;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Boots the server in-process, without opening a socket and with offline authentication, and ramps up simulated
+ * {@link Bot players} stage by stage. Every stage adds players and wild creatures, runs the server at its regular tick
+ * rate for a while, then prints one line: the tick rate the server kept, tick time percentiles, the allocation and GC
+ * rate, and how many entities, creatures and bots were around.
+ * <p>
+ * The ramp is configured through system properties: {@code loadtest.players} (the player count of the last stage),
+ * {@code loadtest.step} (players added per stage), {@code loadtest.stage-seconds} and {@code loadtest.wild-per-stage}.
+ * The server keeps its world and creature store in the working directory; the {@code loadTest} task empties the
+ * creature store before every run, so the bots start without the creatures a previous run stored for them.
+ */
+public final class LoadTest {
+    private static final int MAX_PLAYERS = Integer.getInteger("loadtest.players", 200);
+    private static final int STEP = Integer.getInteger("loadtest.step", 20);
+    private static final int STAGE_SECONDS = Integer.getInteger("loadtest.stage-seconds", 30);
+    private static final int WILD_PER_STAGE = Integer.getInteger("loadtest.wild-per-stage", 500);
+    private static final long TICK_NANOS = 1_000_000_000L / ServerFlag.SERVER_TICKS_PER_SECOND;
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) {
+        MinecraftServer.init(new Auth.Offline());
+        MinecraftServer.getConnectionManager().setPlayerProvider(MutationFactoryPlayer::new);
+        final MapManager mapManager = new MapManager(MinecraftServer.getGlobalEventHandler());
+        final InstanceContainer instance = mapManager.getRootInstance();
+        final SplittableRandom random = new SplittableRandom(Config.WORLD_SEED != null ? Config.WORLD_SEED : 0);
+        final List<Bot> bots = new ArrayList<>();
+
+        System.out.printf("%7s %7s %7s %8s %8s %8s %8s %9s %8s %8s %8s %7s %6s %6s%n",
+                "players", "tps", "mspt50", "mspt95", "mspt99", "msptmax", "alloc/s", "gcms/s", "entities",
+                "creatures", "asleep", "tames", "placed", "pairs");
+        for (int players = Math.min(STEP, MAX_PLAYERS); players <= MAX_PLAYERS; players += STEP) {
+            while (bots.size() < players) {
+                bots.add(Bot.connect(mapManager, "bot" + bots.size(), random.split()));
+            }
+            for (int i = 0; i < WILD_PER_STAGE; i++) {
+                CreatureRegistry.random().setInstance(instance, randomPosition(random));
+            }
+            final Stage stage = run(STAGE_SECONDS * ServerFlag.SERVER_TICKS_PER_SECOND);
+            final HibernationManager hibernation = HibernationManager.of(instance);
+            System.out.printf("%7d %7.2f %7.2f %8.2f %8.2f %8.2f %7dM %9.1f %8d %8d %8d %7d %6d %6d%n",
+                    players, stage.tps(), stage.percentile(0.50), stage.percentile(0.95), stage.percentile(0.99),
+                    stage.percentile(1.0), stage.allocatedPerSecond() / (1024 * 1024), stage.gcMillisPerSecond(),
+                    instance.getEntities().size(), countCreatures(instance), hibernation == null ? 0 : hibernation.size(),
+                    Bot.getTames(), Bot.getPlacements(), Bot.getPairings());
+        }
+        MinecraftServer.stopCleanly();
+    }
+
+    /**
+     * Tick the server the given number of times at its regular rate, the way its own ticker does: a tick that overruns
+     * its time delays the next ones instead of being skipped.
+     */
+    private static Stage run(int ticks) {
+        final ServerProcess process = MinecraftServer.process();
+        final long[] durations = new long[ticks];
+        final long allocatedBefore = allocatedBytes();
+        final long gcBefore = gcMillis();
+        final long start = System.nanoTime();
+        long deadline = start;
+        for (int tick = 0; tick < ticks; tick++) {
+            final long tickStart = System.nanoTime();
+            process.ticker().tick(tickStart);
+            durations[tick] = System.nanoTime() - tickStart;
+            deadline += TICK_NANOS;
+            final long wait = deadline - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+        }
+        final double seconds = (System.nanoTime() - start) / 1e9;
+        Arrays.sort(durations);
+        return new Stage(durations, ticks / seconds, (long) ((allocatedBytes() - allocatedBefore) / seconds),
+                (gcMillis() - gcBefore) / seconds);
+    }
+
+    private static Pos randomPosition(SplittableRandom random) {
+        final int range = Config.PREGENERATE_RADIUS_CHUNKS * 16;
+        return new Pos(random.nextInt(-range, range) + 0.5, 50, random.nextInt(-range, range) + 0.5);
+    }
+
+    private static int countCreatures(InstanceContainer instance) {
+        int count = 0;
+        for (final Entity entity : instance.getEntities()) {
+            if (entity instanceof Creature) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static long allocatedBytes() {
+        return ((ThreadMXBean) ManagementFactory.getThreadMXBean()).getTotalThreadAllocatedBytes();
+    }
+
+    private static long gcMillis() {
+        long total = 0;
+        for (final GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            total += Math.max(0, collector.getCollectionTime());
+        }
+        return total;
+    }
+
+    /**
+     * The outcome of a stage; the tick durations are sorted.
+     */
+    private record Stage(long[] durations, double tps, long allocatedPerSecond, double gcMillisPerSecond) {
+        private double percentile(double percentile) {
+            final int index = (int) Math.min(this.durations.length - 1, Math.ceil(percentile * this.durations.length) - 1);
+            return this.durations[Math.max(0, index)] / 1e6;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package org.slimecraft.mutationfactory;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Picks an index at random, in proportion to the weight given to every index, in constant time regardless of the
+ * amount of indices. The table is built once with Vose's alias method: every column holds the probability of keeping
+ * its own index and the index it gives the rest of its share to, so a pick costs one random column and one coin flip.
+ */
+public final class AliasTable {
+    private final double[] probability;
+    private final int[] alias;
+
+    /**
+     * Build the table for the given weights; an index with a weight of zero is never picked.
+     *
+     * @throws IllegalArgumentException if there are no weights, a weight is negative, or all weights are zero
+     */
+    public AliasTable(int @NotNull [] weights) {
+        if (weights.length == 0) {
+            throw new IllegalArgumentException("An alias table needs at least one weight");
+        }
+        long total = 0;
+        for (final int weight : weights) {
+            if (weight < 0) {
+                throw new IllegalArgumentException("Weights cannot be negative");
+            }
+            total += weight;
+        }
+        if (total == 0) {
+            throw new IllegalArgumentException("At least one weight must be positive");
+        }
+        final int size = weights.length;
+        this.probability = new double[size];
+        this.alias = new int[size];
+        final double[] scaled = new double[size];
+        final int[] small = new int[size];
+        final int[] large = new int[size];
+        int smallCount = 0;
+        int largeCount = 0;
+        for (int i = 0; i < size; i++) {
+            scaled[i] = (double) weights[i] * size / total;
+            if (scaled[i] < 1) {
+                small[smallCount++] = i;
+            } else {
+                large[largeCount++] = i;
+            }
+        }
+        while (smallCount > 0 && largeCount > 0) {
+            final int less = small[--smallCount];
+            final int more = large[--largeCount];
+            this.probability[less] = scaled[less];
+            this.alias[less] = more;
+            scaled[more] = scaled[more] + scaled[less] - 1;
+            if (scaled[more] < 1) {
+                small[smallCount++] = more;
+            } else {
+                large[largeCount++] = more;
+            }
+        }
+        while (largeCount > 0) {
+            this.probability[large[--largeCount]] = 1;
+        }
+        while (smallCount > 0) {
+            this.probability[small[--smallCount]] = 1;
+        }
+    }
+
+    public int sample(@NotNull RandomGenerator random) {
+        final int column = random.nextInt(this.probability.length);
+        return random.nextDouble() < this.probability[column] ? column : this.alias[column];
+    }
+
+    public int size() {
+        return this.probability.length;
+    }
+}
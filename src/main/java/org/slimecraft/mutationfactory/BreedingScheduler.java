@@ -0,0 +1,175 @@
+package org.slimecraft.mutationfactory;
+
+import net.minestom.server.ServerFlag;
+import net.minestom.server.instance.Instance;
+import net.minestom.server.tag.Tag;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+/**
+ * Tracks the breeding pairs of an {@link Instance} on a hashed timer wheel. Each pairing is put in the slot of its
+ * deadline tick, so advancing the wheel only looks at the pairings sharing the current slot, and every pairing
+ * that is due fires in the same batch. Exactly one scheduler exists per instance, advanced by its
+ * {@link InstanceMailbox}; pairings may be scheduled and cancelled from any thread, while completions only run
+ * while no chunk of the instance is being ticked.
+ * <p>
+ * The time a pairing still needs is kept as a primitive deadline; it is only written back to
+ * {@link Creature#BREEDING_TIME_REMAINING} when the pairing is cancelled, so breeding resumes where it stopped.
+ */
+public class BreedingScheduler {
+    private static final Tag<@NotNull BreedingScheduler> SCHEDULER_TAG = Tag.Transient("breeding_scheduler");
+    private static final int WHEEL_SIZE = 1024;
+    private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+
+    private final List<Pairing>[] wheel;
+    private final Map<Creature, Pairing> pairings;
+    private final List<Pairing> due;
+    private long tick;
+
+    @SuppressWarnings("unchecked")
+    private BreedingScheduler(Instance instance) {
+        this.wheel = new List[WHEEL_SIZE];
+        for (int i = 0; i < WHEEL_SIZE; i++) {
+            this.wheel[i] = new ArrayList<>();
+        }
+        this.pairings = new IdentityHashMap<>();
+        this.due = new ArrayList<>();
+        InstanceMailbox.of(instance).repeat(1, this::advance);
+    }
+
+    /**
+     * Get the scheduler of the given instance, creating and starting it the first time
+     * the instance is asked for one.
+     */
+    public static BreedingScheduler of(@NotNull Instance instance) {
+        return InstanceServices.get(instance, SCHEDULER_TAG, BreedingScheduler::new);
+    }
+
+    /**
+     * Get the scheduler of the given instance if it has one, without creating it.
+     */
+    public static @Nullable BreedingScheduler existing(@NotNull Instance instance) {
+        return instance.getTag(SCHEDULER_TAG);
+    }
+
+    /**
+     * Start breeding the two creatures, running the completion once the time remaining on the timer creature has
+     * elapsed. Any pairing either creature was already part of is cancelled first.
+     */
+    public synchronized void schedule(@NotNull Creature first, @NotNull Creature timer, @NotNull Runnable completion) {
+        this.cancel(first);
+        this.cancel(timer);
+        final long ticks = Math.max(1, (long) timer.getTag(Creature.BREEDING_TIME_REMAINING) * ServerFlag.SERVER_TICKS_PER_SECOND);
+        final Pairing pairing = new Pairing(first, timer, this.tick + ticks, completion);
+        this.wheel[(int) (pairing.deadline & WHEEL_MASK)].add(pairing);
+        this.pairings.put(first, pairing);
+        this.pairings.put(timer, pairing);
+    }
+
+    /**
+     * Cancel the pairing the creature is part of, keeping the time it still needed on its timer creature.
+     *
+     * @return whether the creature was breeding
+     */
+    public synchronized boolean cancel(@NotNull Creature creature) {
+        final Pairing pairing = this.pairings.remove(creature);
+        if (pairing == null) {
+            return false;
+        }
+        this.pairings.remove(pairing.first == creature ? pairing.timer : pairing.first);
+        pairing.cancelled = true;
+        pairing.timer.setTag(Creature.BREEDING_TIME_REMAINING, this.remainingSeconds(pairing));
+        return true;
+    }
+
+    /**
+     * Get the seconds left before the creature's pairing completes, or -1 if it is not breeding.
+     */
+    public synchronized int remainingSeconds(@NotNull Creature creature) {
+        final Pairing pairing = this.pairings.get(creature);
+        if (pairing == null) {
+            return -1;
+        }
+        return this.remainingSeconds(pairing);
+    }
+
+    public synchronized boolean isBreeding(@NotNull Creature creature) {
+        return this.pairings.containsKey(creature);
+    }
+
+    /**
+     * Get the creature the given one is breeding with, or null if it is not breeding.
+     */
+    public synchronized @Nullable Creature partnerOf(@NotNull Creature creature) {
+        final Pairing pairing = this.pairings.get(creature);
+        if (pairing == null) {
+            return null;
+        }
+        return pairing.first == creature ? pairing.timer : pairing.first;
+    }
+
+    /**
+     * Get the creature whose breeding time the pairing of the given creature counts down, or null if it is not
+     * breeding; this may be the given creature itself.
+     */
+    public synchronized @Nullable Creature timerOf(@NotNull Creature creature) {
+        final Pairing pairing = this.pairings.get(creature);
+        return pairing == null ? null : pairing.timer;
+    }
+
+    private int remainingSeconds(Pairing pairing) {
+        final long ticks = Math.max(0, pairing.deadline - this.tick);
+        return (int) ((ticks + ServerFlag.SERVER_TICKS_PER_SECOND - 1) / ServerFlag.SERVER_TICKS_PER_SECOND);
+    }
+
+    /**
+     * Advance the wheel by a tick, then run the completions of the pairings that came due outside the lock, so
+     * completions are free to schedule or cancel pairings themselves.
+     */
+    private void advance() {
+        synchronized (this) {
+            this.tick++;
+            final List<Pairing> slot = this.wheel[(int) (this.tick & WHEEL_MASK)];
+            if (slot.isEmpty()) {
+                return;
+            }
+            final Iterator<Pairing> iterator = slot.iterator();
+            while (iterator.hasNext()) {
+                final Pairing pairing = iterator.next();
+                if (pairing.cancelled) {
+                    iterator.remove();
+                } else if (pairing.deadline <= this.tick) {
+                    iterator.remove();
+                    this.pairings.remove(pairing.first);
+                    this.pairings.remove(pairing.timer);
+                    this.due.add(pairing);
+                }
+            }
+        }
+        for (final Pairing pairing : this.due) {
+            pairing.completion.run();
+        }
+        this.due.clear();
+    }
+
+    public synchronized int size() {
+        return this.pairings.size() / 2;
+    }
+
+    private static final class Pairing {
+        private final Creature first;
+        private final Creature timer;
+        private final long deadline;
+        private final Runnable completion;
+        private boolean cancelled;
+
+        private Pairing(Creature first, Creature timer, long deadline, Runnable completion) {
+            this.first = first;
+            this.timer = timer;
+            this.deadline = deadline;
+            this.completion = completion;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package org.slimecraft.mutationfactory;
+
+import net.minestom.server.instance.Chunk;
+import net.minestom.server.instance.InstanceContainer;
+import net.minestom.server.instance.LightingChunk;
+import net.minestom.server.instance.anvil.AnvilLoader;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Generates the chunks around the origin of an instance before the server starts, and keeps them in a region
+ * cache on disk. The first boot generates every chunk of the radius at once, lights them in one pass and saves them,
+ * light included, to the cache; a marker file then records the radius that is cached, so later boots only read the
+ * region files back. Chunks outside the radius are not cached: nothing saves them, so they are generated again
+ * every time they are loaded.
+ */
+public final class ChunkPregenerator {
+    private static final String MARKER_NAME = "pregenerated";
+
+    private ChunkPregenerator() {
+    }
+
+    /**
+     * Make the instance load its chunks from the cache in the given directory, generating and caching the
+     * chunks within the given radius, in chunks, of the origin first if they are not cached yet. Every chunk of the
+     * radius is loaded when this returns.
+     */
+    public static void prepare(@NotNull InstanceContainer instance, @NotNull Path directory, int radius) {
+        instance.setChunkLoader(new AnvilLoader(directory));
+        final boolean cached = cachedRadius(directory) >= radius;
+        final List<CompletableFuture<Chunk>> loads = new ArrayList<>((radius * 2 + 1) * (radius * 2 + 1));
+        for (int x = -radius; x <= radius; x++) {
+            for (int z = -radius; z <= radius; z++) {
+                loads.add(instance.loadChunk(x, z));
+            }
+        }
+        CompletableFuture.allOf(loads.toArray(CompletableFuture[]::new)).join();
+        if (cached) {
+            return;
+        }
+        final List<Chunk> chunks = new ArrayList<>(loads.size());
+        for (final CompletableFuture<Chunk> load : loads) {
+            chunks.add(load.join());
+        }
+        LightingChunk.relight(instance, chunks);
+        instance.saveChunksToStorage().join();
+        try {
+            Files.createDirectories(directory);
+            Files.writeString(directory.resolve(MARKER_NAME), Integer.toString(radius), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Get the radius the cache in the given directory was generated with, or -1 if it was never generated.
+     */
+    private static int cachedRadius(Path directory) {
+        final Path marker = directory.resolve(MARKER_NAME);
+        if (!Files.isRegularFile(marker)) {
+            return -1;
+        }
+        try {
+            return Integer.parseInt(Files.readString(marker, StandardCharsets.UTF_8).trim());
+        } catch (IOException | NumberFormatException e) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package org.slimecraft.mutationfactory;
+
+import net.minestom.server.coordinate.Pos;
+import net.minestom.server.entity.Entity;
+import net.minestom.server.entity.EntityCreature;
+import net.minestom.server.entity.Player;
+import net.minestom.server.entity.ai.TargetSelector;
+import net.minestom.server.instance.Instance;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.function.Predicate;
+
+/**
+ * Targets the closest player or {@link Creature} within range that matches the predicate. Unlike
+ * {@link net.minestom.server.entity.ai.target.ClosestEntityTarget}, creatures are looked up through the
+ * {@link CreatureGrid} of the instance, so only the cells within range are visited.
+ */
+public class ClosestCreatureTarget extends TargetSelector {
+    private final double range;
+    private final Predicate<Entity> predicate;
+
+    public ClosestCreatureTarget(@NotNull EntityCreature entityCreature, double range, @NotNull Predicate<Entity> predicate) {
+        super(entityCreature);
+        this.range = range;
+        this.predicate = predicate;
+    }
+
+    @Override
+    public @Nullable Entity findTarget() {
+        final Instance instance = this.entityCreature.getInstance();
+        if (instance == null) {
+            return null;
+        }
+        final Pos position = this.entityCreature.getPosition();
+        Entity closest = CreatureGrid.of(instance).closest(position, this.range, creature ->
+                creature != this.entityCreature && this.predicate.test(creature));
+        double closestDistance = closest == null ? this.range * this.range : closest.getPosition().distanceSquared(position);
+        for (final Player player : instance.getPlayers()) {
+            final double distance = player.getPosition().distanceSquared(position);
+            if (distance < closestDistance && !player.isDead() && this.predicate.test(player)) {
+                closest = player;
+                closestDistance = distance;
+            }
+        }
+        return closest;
+    }
+}
@@ -0,0 +1,109 @@
+package org.slimecraft.mutationfactory;
+
+import net.kyori.adventure.text.Component;
+import net.minestom.server.entity.LivingEntity;
+import net.minestom.server.entity.Player;
+import net.minestom.server.entity.damage.Damage;
+import net.minestom.server.event.entity.EntityAttackEvent;
+import net.minestom.server.event.player.PlayerDeathEvent;
+import net.minestom.server.instance.Instance;
+import net.minestom.server.tag.Tag;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Resolves the melee attacks of the creatures of an {@link Instance}. Attacks are not applied as they happen; they
+ * are queued during the tick and resolved together at the start of the next one, so a target hit by many creatures
+ * takes a single hit of their summed {@link Creature#getEffectiveDamage() effective damage}, credited to the last
+ * attacker. Exactly one resolver exists per instance, which also names the creature that killed a player. Attacks may
+ * be queued from any thread ticking the instance; they are resolved by its {@link InstanceMailbox}, while none of
+ * those threads is ticking an entity.
+ */
+public class CombatResolver {
+    private static final Tag<@NotNull CombatResolver> RESOLVER_TAG = Tag.Transient("combat_resolver");
+
+    private final Map<LivingEntity, PendingDamage> pending;
+    private final LongAdder attacks;
+    private final LongAdder hits;
+
+    private CombatResolver(Instance instance) {
+        this.pending = new ConcurrentHashMap<>();
+        this.attacks = new LongAdder();
+        this.hits = new LongAdder();
+        instance.eventNode().addListener(EntityAttackEvent.class, event -> {
+            if (event.getEntity() instanceof final Creature creature && event.getTarget() instanceof final LivingEntity target) {
+                this.queue(creature, target);
+            }
+        });
+        instance.eventNode().addListener(PlayerDeathEvent.class, event -> {
+            final Player player = event.getPlayer();
+            final Damage source = player.getLastDamageSource();
+
+            if (source == null) {
+                event.setChatMessage(player.getName().append(Component.text(" was killed due to unforeseen events")));
+                return;
+            }
+            if (source.getAttacker() instanceof final Creature creature) {
+                event.setChatMessage(player.getName().append(Component.text(" was killed by a ").append(Component.text(creature.getSpecies().name()))));
+            }
+        });
+        InstanceMailbox.of(instance).repeat(1, this::resolve);
+    }
+
+    /**
+     * Get the resolver of the given instance, creating and starting it the first time
+     * the instance is asked for one.
+     */
+    public static CombatResolver of(@NotNull Instance instance) {
+        return InstanceServices.get(instance, RESOLVER_TAG, CombatResolver::new);
+    }
+
+    /**
+     * Queue a hit of the creature on the target, to be resolved at the start of the next tick.
+     */
+    public void queue(@NotNull Creature attacker, @NotNull LivingEntity target) {
+        this.attacks.increment();
+        this.pending.compute(target, (key, damage) -> {
+            final PendingDamage pendingDamage = damage != null ? damage : new PendingDamage();
+            pendingDamage.amount += attacker.getEffectiveDamage();
+            pendingDamage.attacker = attacker;
+            return pendingDamage;
+        });
+    }
+
+    private void resolve() {
+        if (this.pending.isEmpty()) {
+            return;
+        }
+        for (final LivingEntity target : this.pending.keySet()) {
+            final PendingDamage damage = this.pending.remove(target);
+            if (damage == null || target.isRemoved() || target.isDead() || damage.attacker.isRemoved()) {
+                continue;
+            }
+            target.damage(Damage.fromEntity(damage.attacker, damage.amount));
+            this.hits.increment();
+        }
+    }
+
+    /**
+     * Get the amount of attacks queued since the resolver started.
+     */
+    public long getAttacks() {
+        return this.attacks.sum();
+    }
+
+    /**
+     * Get the amount of hits dealt since the resolver started, one per target and tick.
+     */
+    public long getHits() {
+        return this.hits.sum();
+    }
+
+    private static final class PendingDamage {
+        private float amount;
+        private Creature attacker;
+    }
+}
@@ -1,5 +1,7 @@
 package org.slimecraft.mutationfactory;
 
+import net.minestom.server.ServerFlag;
+
 /*
 This class should eventually be removed due to the fact that configuration will be dynamic and controlled through
 a web panel by administrators.
@@ -7,4 +9,31 @@ a web panel by administrators.
 public class Config {
     public static final int MIN_LEVEL = 1;
     public static final int MAX_LEVEL = 180;
+    public static final int SPAWN_RADIUS_CHUNKS = 4;
+    public static final int MAX_WILD_PER_CHUNK = 2;
+    public static final int MAX_SPAWNS_PER_CYCLE = 32;
+    public static final double DESPAWN_DISTANCE = 128;
+    public static final double HOLOGRAM_RANGE = 24;
+    public static final double AI_FULL_RANGE = 32;
+    public static final double AI_REDUCED_RANGE = 96;
+    public static final int AI_REDUCED_INTERVAL = 4;
+    public static final long AI_TICK_BUDGET_NANOS = Long.getLong("mutationfactory.ai-budget-nanos", 5_000_000);
+    public static final boolean AI_LEVEL_OF_DETAIL = Boolean.parseBoolean(System.getProperty("mutationfactory.ai-level-of-detail", "true"));
+    public static final int SNEAK_TARGET_INTERVAL = 4;
+    public static final double INHERIT_HIGHER_CHANCE = 0.55;
+    public static final double MUTATION_CHANCE = 0.025;
+    public static final int MUTATION_ROLLS = 3;
+    public static final int MUTATION_POINTS = 2;
+    public static final int MUTATION_CAP = 20;
+    public static final Long WORLD_SEED = Long.getLong("mutationfactory.seed");
+    public static final int POOL_CAPACITY_PER_SPECIES = 64;
+    public static final String STORE_DIRECTORY = "data/creatures";
+    public static final String WORLD_DIRECTORY = "data/world";
+    public static final int PREGENERATE_RADIUS_CHUNKS = 16;
+    public static final String SPECIES_FILE = "species.properties";
+    public static final String SPAWNS_FILE = "spawns.properties";
+    public static final int HIBERNATE_AFTER_TICKS = 2 * 60 * ServerFlag.SERVER_TICKS_PER_SECOND;
+    public static final int HIBERNATION_SCAN_INTERVAL = 10;
+    public static final int HIBERNATION_WAKE_RADIUS_CHUNKS = ServerFlag.ENTITY_VIEW_DISTANCE + 2;
+    public static final int METRICS_PORT = Integer.getInteger("mutationfactory.metrics-port", 9464);
 }
@@ -1,6 +1,7 @@
 package org.slimecraft.mutationfactory;
 
 import net.minestom.server.coordinate.Pos;
+import net.minestom.server.coordinate.Vec;
 import net.minestom.server.entity.*;
 import net.minestom.server.entity.ai.EntityAIGroup;
 import net.minestom.server.entity.ai.goal.MeleeAttackGoal;
@@ -27,21 +28,17 @@ public class Creature extends EntityCreature {
     public static final Tag<@NotNull Integer> BREEDING_TIME_REMAINING = Tag.Integer("breeding_time");
 
     private final Species species;
-    private final int level;
+    private int level;
     private int timesHit;
     private boolean tamed;
-    private final boolean male;
+    private UUID owner;
+    private boolean male;
     private final int breedTime;
-    private final Stat health;
-    private final Stat stamina;
-    private final Stat oxygen;
-    private final Stat food;
-    private final Stat weight;
-    private final Stat melee;
-    private final Stat speed;
-    private final List<Stat> additionalStats;
+    private final StatBlock stats;
     private final CreatureService creatureService;
     private final EntityAIGroup defaultAiGroup;
+    private boolean parked;
+    private float effectiveDamage;
 
     /**
      * Construct a creature from the given {@link Builder}.
@@ -49,30 +46,26 @@ public class Creature extends EntityCreature {
      * complexity of the class.
      */
     private Creature(Builder builder) {
-        super(builder.species.entityType());
-        final Random random = new Random();
+        super(builder.species.entityType(), Objects.requireNonNullElseGet(builder.uuid, UUID::randomUUID));
         this.creatureService = new CreatureService(this);
         this.species = builder.species;
         this.level = Objects.requireNonNullElseGet(builder.level, () ->
-                Config.MIN_LEVEL + (int) (Math.pow(random.nextDouble(), 5) * Config.MAX_LEVEL));
+                Config.MIN_LEVEL + (int) (Math.pow(Rng.current().nextDouble(), 5) * Config.MAX_LEVEL));
         if (builder.tamed != null) {
             this.tamed = builder.tamed;
         }
-        this.male = Objects.requireNonNullElseGet(builder.male, random::nextBoolean);
+        this.owner = builder.owner;
+        this.male = Objects.requireNonNullElseGet(builder.male, () -> Rng.current().nextBoolean());
         this.breedTime = builder.breedTime;
-        this.health = builder.health;
-        this.stamina = builder.stamina;
-        this.oxygen = builder.oxygen;
-        this.food = builder.food;
-        this.weight = builder.weight;
-        this.melee = builder.melee;
-        this.speed = builder.speed;
-        this.additionalStats = builder.additionalStats;
+        this.stats = builder.stats.copy();
         if (builder.configurator != null) {
             builder.configurator.accept(this);
         }
         this.defaultAiGroup = new EntityAIGroup();
         this.initializeDefaults();
+        if (builder.breedingTimeRemaining != null) {
+            this.setTag(BREEDING_TIME_REMAINING, builder.breedingTimeRemaining);
+        }
     }
 
     /**
@@ -94,9 +87,22 @@ public class Creature extends EntityCreature {
     }
 
     public void initializeAttributes() {
-        this.getAttribute(Attribute.MOVEMENT_SPEED).setBaseValue(this.speed.getBaseValue());
-        this.getAttribute(Attribute.MAX_HEALTH).setBaseValue(this.health.getBaseValue());
-        this.getAttribute(Attribute.ATTACK_DAMAGE).setBaseValue(this.melee.getBaseValue());
+        this.getAttribute(Attribute.MOVEMENT_SPEED).setBaseValue(this.stats.getBase(StatBlock.SPEED));
+        this.getAttribute(Attribute.MAX_HEALTH).setBaseValue(this.stats.getBase(StatBlock.HEALTH));
+        this.getAttribute(Attribute.ATTACK_DAMAGE).setBaseValue(this.stats.getCurrent(StatBlock.MELEE));
+        this.refreshEffectiveDamage();
+    }
+
+    /**
+     * Recompute the damage this creature deals per hit from its attack damage attribute, modifiers included.
+     * Must be called whenever the melee stat or the modifiers of the attribute change.
+     */
+    public void refreshEffectiveDamage() {
+        this.effectiveDamage = (float) this.getAttributeValue(Attribute.ATTACK_DAMAGE);
+    }
+
+    public float getEffectiveDamage() {
+        return this.effectiveDamage;
     }
 
     /**
@@ -140,27 +146,40 @@ public class Creature extends EntityCreature {
         return wild(species, breedTime, health, stamina, oxygen, food, weight, melee, speed, null);
     }
 
+    /**
+     * Construct a tamed {@link Creature}. The stats are copied, so the given block can safely
+     * be the block of another creature, such as a parent.
+     */
     public static Creature tamed(
             @NotNull Species species,
             int breedTime,
             Integer level,
             Boolean male,
-            @NotNull Stat health,
-            @NotNull Stat stamina,
-            @NotNull Stat oxygen,
-            @NotNull Stat food,
-            @NotNull Stat weight,
-            @NotNull Stat melee,
-            @NotNull Stat speed,
-            List<Stat> additionalStats
+            @NotNull StatBlock stats
     ) {
-        return builder(species, breedTime, health, stamina, oxygen, food, weight, melee, speed, additionalStats)
+        return builder(species, breedTime, stats)
                 .tamed(true)
                 .level(level)
                 .male(male)
                 .build();
     }
 
+    /**
+     * Construct a tamed {@link Creature} born from the two parents, which must be of the same species. Its stats,
+     * level and sex are decided by the given {@link Genetics}; it is owned by nobody until it is given an owner.
+     */
+    public static Creature tamed(@NotNull Creature first, @NotNull Creature second, @NotNull Genetics genetics) {
+        final StatBlock stats = first.getStats().copy();
+        genetics.inherit(first.getStats(), second.getStats(), stats);
+        return tamed(
+                first.getSpecies(),
+                first.getBreedTime(),
+                genetics.level(first.getLevel(), second.getLevel()),
+                genetics.male(),
+                stats
+        );
+    }
+
     /**
      * Construct a {@link Builder}. This exists for style purposes; the behaviour is no different
      * from if one were to directly instantiate {@link Builder}.
@@ -180,6 +199,13 @@ public class Creature extends EntityCreature {
         return new Builder(species, breedTime, health, stamina, oxygen, food, weight, melee, speed, additionalStats);
     }
 
+    /**
+     * Construct a {@link Builder} from an existing {@link StatBlock}; the block is copied when the creature is built.
+     */
+    public static Builder builder(@NotNull Species species, int breedTime, @NotNull StatBlock stats) {
+        return new Builder(species, breedTime, stats);
+    }
+
     /**
      * A helper class for constructing {@link Creature}s. The complexity of the class
      * warrants the use of a builder for required and optional values.
@@ -190,14 +216,10 @@ public class Creature extends EntityCreature {
         private Integer level;
         private Boolean tamed;
         private Boolean male;
-        private final Stat health;
-        private final Stat stamina;
-        private final Stat oxygen;
-        private final Stat food;
-        private final Stat weight;
-        private final Stat melee;
-        private final Stat speed;
-        private final List<Stat> additionalStats;
+        private UUID uuid;
+        private UUID owner;
+        private Integer breedingTimeRemaining;
+        private final StatBlock stats;
         private Consumer<Creature> configurator;
 
         public Builder(
@@ -211,16 +233,13 @@ public class Creature extends EntityCreature {
                 @NotNull Stat melee,
                 @NotNull Stat speed,
                 @NotNull List<Stat> additionalStats) {
+            this(species, breedTime, StatBlock.of(health, stamina, oxygen, food, weight, melee, speed, additionalStats));
+        }
+
+        public Builder(@NotNull Species species, int breedTime, @NotNull StatBlock stats) {
             this.species = species;
             this.breedTime = breedTime;
-            this.health = health;
-            this.stamina = stamina;
-            this.oxygen = oxygen;
-            this.food = food;
-            this.weight = weight;
-            this.melee = melee;
-            this.speed = speed;
-            this.additionalStats = additionalStats;
+            this.stats = stats;
         }
 
         public Builder level(Integer level) {
@@ -238,6 +257,27 @@ public class Creature extends EntityCreature {
             return this;
         }
 
+        /**
+         * Set the UUID of the creature, so that a creature rebuilt from storage keeps its identity.
+         */
+        public Builder uuid(UUID uuid) {
+            this.uuid = uuid;
+            return this;
+        }
+
+        public Builder owner(UUID owner) {
+            this.owner = owner;
+            return this;
+        }
+
+        /**
+         * Set the seconds of breeding the creature still needs; defaults to its full breed time.
+         */
+        public Builder breedingTimeRemaining(Integer breedingTimeRemaining) {
+            this.breedingTimeRemaining = breedingTimeRemaining;
+            return this;
+        }
+
         public Builder configurator(Consumer<Creature> configurator) {
             this.configurator = configurator;
             return this;
@@ -253,8 +293,90 @@ public class Creature extends EntityCreature {
         return super.setInstance(instance, spawnPosition).thenRun(this.creatureService::whenSpawned);
     }
 
+    @Override
+    public void update(long time) {
+        if (this.parked) {
+            return;
+        }
+        super.update(time);
+        this.creatureService.whenTicked();
+    }
+
+    /**
+     * Run the AI groups of this creature, unless the {@link CreatureAiScheduler} of its instance decides
+     * the creature sits this tick out.
+     */
+    @Override
+    public void aiTick(long time) {
+        final Instance instance = this.getInstance();
+        if (instance == null || this.parked) {
+            return;
+        }
+        final CreatureAiScheduler scheduler = CreatureAiScheduler.of(instance);
+        if (!scheduler.shouldTick(this, time)) {
+            return;
+        }
+        final long start = System.nanoTime();
+        super.aiTick(time);
+        final long nanos = System.nanoTime() - start;
+        scheduler.recordTick(nanos);
+        Metrics.AI_TICK_NANOS.record(nanos);
+    }
+
+    /**
+     * Take the creature out of the game without removing it, so a {@link CreaturePool} can hand it out again. The
+     * creature stays in its instance, hidden from every player and ignored by every per-instance service.
+     */
+    void park() {
+        this.creatureService.whenNoLongerExisting();
+        this.parked = true;
+        this.setTarget(null);
+        this.setLeashHolder(null);
+        this.setVelocity(Vec.ZERO);
+        this.setNoGravity(true);
+        this.setAutoViewable(false);
+    }
+
+    /**
+     * Bring a parked creature back as a new wild creature of the same species, at the given level and with the
+     * given stats, which must have the layout of the creature's own. Its sex is rolled again, as for any new creature.
+     *
+     * @return a future completing once the creature is back at the given position
+     */
+    CompletableFuture<Void> recycle(int level, @NotNull StatBlock stats, @NotNull Pos position) {
+        this.level = level;
+        this.tamed = false;
+        this.owner = null;
+        this.male = Rng.current().nextBoolean();
+        this.timesHit = 0;
+        this.stats.copyFrom(stats);
+        this.initializeAttributes();
+        this.setHealth((float) this.getAttribute(Attribute.MAX_HEALTH).getValue());
+        this.setTag(BREEDING_TIME_REMAINING, this.breedTime);
+        this.creatureService.reset();
+        return this.teleport(position).thenRun(() -> {
+            this.parked = false;
+            this.setNoGravity(false);
+            this.setAutoViewable(true);
+            this.creatureService.whenSpawned();
+        });
+    }
+
+    /**
+     * Start breeding with the partner, as if a player had leashed the two together; the partner's remaining
+     * breeding time decides when the offspring is born.
+     */
+    void breedWith(@NotNull Creature partner) {
+        this.creatureService.breedWith(partner);
+    }
+
+    public boolean isParked() {
+        return this.parked;
+    }
+
     @Override
     public void kill() {
+        this.creatureService.whenKilled();
         this.creatureService.whenNoLongerExisting();
         super.kill();
     }
@@ -282,39 +404,26 @@ public class Creature extends EntityCreature {
     }
 
     /**
-     * Get the health stat of this creature. The 'stat' suffix is appended
-     * because {@link EntityCreature} has the {@link EntityCreature#getHealth()} method.
+     * Get the seconds of breeding this creature still needs, counting down live if it is the timer of its pairing.
+     * Its partner is not counted down, so it reports its own stored time.
      */
-    public Stat getHealthStat() {
-        return health;
-    }
-
-    public Stat getStamina() {
-        return stamina;
-    }
-
-    public Stat getOxygen() {
-        return oxygen;
-    }
-
-    public Stat getFood() {
-        return food;
-    }
-
-    public Stat getWeight() {
-        return weight;
-    }
-
-    public Stat getMelee() {
-        return melee;
-    }
-
-    public Stat getSpeed() {
-        return speed;
+    public int getBreedingTimeRemaining() {
+        final BreedingScheduler scheduler = this.getInstance() == null ? null : BreedingScheduler.existing(this.getInstance());
+        if (scheduler != null && scheduler.timerOf(this) == this) {
+            final int remaining = scheduler.remainingSeconds(this);
+            if (remaining >= 0) {
+                return remaining;
+            }
+        }
+        return this.getTag(BREEDING_TIME_REMAINING);
     }
 
-    public List<Stat> getAdditionalStats() {
-        return additionalStats;
+    /**
+     * Get the stats of this creature. The block belongs to this creature alone; upgrading it
+     * does not affect any other creature.
+     */
+    public StatBlock getStats() {
+        return this.stats;
     }
 
     public boolean isTamed() {
@@ -323,17 +432,40 @@ public class Creature extends EntityCreature {
 
     public void setTamed(boolean tamed) {
         this.tamed = tamed;
+        this.creatureService.whenTamedChanged();
+        if (this.getInstance() != null) {
+            HologramManager.of(this.getInstance()).refresh(this);
+        }
+    }
+
+    /**
+     * Get the UUID of the player owning this creature, or null if nobody placed it.
+     */
+    public @Nullable UUID getOwner() {
+        return this.owner;
     }
 
+    public void setOwner(@Nullable UUID owner) {
+        this.owner = owner;
+        if (this.getInstance() != null) {
+            CreatureRoster.register(this);
+        }
+    }
+
+    /**
+     * Creatures are equal when they are the same entity, as told by their UUID; none of their mutable state
+     * takes part, so a creature keeps its place in hash-based collections for its whole life. Use
+     * {@link CreatureSnapshot} to compare what creatures are made of.
+     */
     @Override
     public boolean equals(Object o) {
-        if (o == null || getClass() != o.getClass()) return false;
-        Creature creature = (Creature) o;
-        return level == creature.level && timesHit == creature.timesHit && tamed == creature.tamed && male == creature.male && breedTime == creature.breedTime && Objects.equals(species, creature.species) && Objects.equals(health, creature.health) && Objects.equals(stamina, creature.stamina) && Objects.equals(oxygen, creature.oxygen) && Objects.equals(food, creature.food) && Objects.equals(weight, creature.weight) && Objects.equals(melee, creature.melee) && Objects.equals(speed, creature.speed) && Objects.equals(additionalStats, creature.additionalStats) && Objects.equals(creatureService, creature.creatureService);
+        if (this == o) return true;
+        if (!(o instanceof final Creature creature)) return false;
+        return this.getUuid().equals(creature.getUuid());
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(species, level, timesHit, tamed, male, breedTime, health, stamina, oxygen, food, weight, melee, speed, additionalStats, creatureService);
+        return this.getUuid().hashCode();
     }
 }
@@ -0,0 +1,92 @@
+package org.slimecraft.mutationfactory;
+
+import net.minestom.server.entity.ai.EntityAIGroup;
+import net.minestom.server.entity.ai.goal.MeleeAttackGoal;
+import net.minestom.server.entity.ai.target.LastEntityDamagerTarget;
+import net.minestom.server.utils.time.TimeUnit;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Adds the species specific behaviour to a freshly built {@link Creature}, on top of the defaults every creature
+ * gets. Factories are created once per species template and shared by every creature of that species; only the
+ * AI groups they add are created per creature, since goals and target selectors hold their creature.
+ */
+@FunctionalInterface
+public interface CreatureAiFactory {
+    /**
+     * Adds nothing; the creature only strolls around and fights back with its defaults.
+     */
+    CreatureAiFactory PASSIVE = creature -> {
+    };
+
+    /**
+     * Flee from and herd with what the {@link SpeciesRelations} of the creature's species say, adding nothing to
+     * species that do neither.
+     */
+    CreatureAiFactory INSTINCTS = creature -> {
+        final SpeciesRelations relations = CreatureRegistry.relations();
+        final boolean flees = relations.any(SpeciesRelations.Relation.FLEES, creature.getSpecies());
+        final boolean herds = relations.any(SpeciesRelations.Relation.HERDS, creature.getSpecies());
+        if (!flees && !herds) {
+            return;
+        }
+        final EntityAIGroup aiGroup = new EntityAIGroup();
+        if (flees) {
+            aiGroup.getGoalSelectors().add(new FleeGoal(creature, FleeGoal.RANGE));
+        }
+        if (herds) {
+            aiGroup.getGoalSelectors().add(new HerdGoal(creature, HerdGoal.RANGE));
+        }
+        creature.addAIGroup(aiGroup);
+    };
+
+    void apply(@NotNull Creature creature);
+
+    /**
+     * Get a factory applying this factory, then the given one.
+     */
+    default CreatureAiFactory andThen(@NotNull CreatureAiFactory next) {
+        return creature -> {
+            this.apply(creature);
+            next.apply(creature);
+        };
+    }
+
+    /**
+     * Attack whoever last damaged the creature and, failing that, the closest player or creature within the given
+     * range its species attacks according to the {@link SpeciesRelations}.
+     *
+     * @param range       the distance, in blocks, at which targets are picked up
+     * @param attackDelay the ticks between two attacks
+     */
+    static CreatureAiFactory hunter(double range, int attackDelay) {
+        return creature -> {
+            final EntityAIGroup aiGroup = new EntityAIGroup();
+            aiGroup.getGoalSelectors().add(new MeleeAttackGoal(creature, 0.5, attackDelay, TimeUnit.SERVER_TICK));
+            aiGroup.getTargetSelectors().add(new LastEntityDamagerTarget(creature, (float) range));
+            final SpeciesRelations relations = CreatureRegistry.relations();
+            aiGroup.getTargetSelectors().add(new ClosestCreatureTarget(creature, range, entity ->
+                    relations.test(SpeciesRelations.Relation.ATTACKS, creature.getSpecies(), entity)));
+            creature.addAIGroup(aiGroup);
+        };
+    }
+
+    /**
+     * Parse a factory from its data file form: {@code passive}, or {@code hunter:<range>:<attack delay in ticks>}.
+     *
+     * @throws IllegalArgumentException if the form is not recognized
+     */
+    static CreatureAiFactory parse(@NotNull String value) {
+        final String[] parts = value.trim().split(":");
+        return switch (parts[0]) {
+            case "passive" -> PASSIVE;
+            case "hunter" -> {
+                if (parts.length != 3) {
+                    throw new IllegalArgumentException("Expected hunter:<range>:<attack delay>, got " + value);
+                }
+                yield hunter(Double.parseDouble(parts[1]), Integer.parseInt(parts[2]));
+            }
+            default -> throw new IllegalArgumentException("Unknown creature AI " + value);
+        };
+    }
+}
@@ -0,0 +1,185 @@
+package org.slimecraft.mutationfactory;
+
+import net.minestom.server.entity.Player;
+import net.minestom.server.instance.Instance;
+import net.minestom.server.tag.Tag;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Decides which creatures of an {@link Instance} get to run their AI on a given tick. Creatures close to a player
+ * think every tick, creatures further away every {@link Config#AI_REDUCED_INTERVAL} ticks, and creatures out of
+ * range of every player not at all; creatures with a target always think every tick. Reduced creatures are spread
+ * over the ticks by entity id, and once {@link Config#AI_TICK_BUDGET_NANOS} has been spent within a tick, the
+ * remaining non-combat creatures are deferred to the next tick instead of stretching it. Deferred creatures come
+ * first on the next tick: they think whatever the budget, and the time they are expected to take is set aside from
+ * the budget before any other creature gets to spend it, wherever they come in the order the chunks are ticked in.
+ * Every thread ticking the instance has a budget of its own, since the threads spend theirs at the same time. Without
+ * {@link Config#AI_LEVEL_OF_DETAIL}, every creature thinks every tick wherever the players are. The levels are
+ * recomputed on the {@link InstanceMailbox} into a new map that replaces the previous one whole, so the threads
+ * ticking the creatures never see a creature frozen halfway through an update.
+ */
+public class CreatureAiScheduler {
+    public static final int FROZEN = 0;
+    public static final int FULL = 1;
+    private static final Tag<@NotNull CreatureAiScheduler> SCHEDULER_TAG = Tag.Transient("creature_ai_scheduler");
+
+    private final Instance instance;
+    private final Set<Creature> creatures;
+    private volatile Map<Creature, Integer> intervals;
+    private final Set<Creature> deferred;
+    private final AtomicLong currentTickTime;
+    private final AtomicLong tick;
+    private final ThreadLocal<Budget> budget;
+    private final LongAdder evaluated;
+    private final LongAdder skipped;
+    private final LongAdder deferrals;
+
+    private CreatureAiScheduler(Instance instance) {
+        this.instance = instance;
+        this.creatures = ConcurrentHashMap.newKeySet();
+        this.intervals = new ConcurrentHashMap<>();
+        this.deferred = ConcurrentHashMap.newKeySet();
+        this.currentTickTime = new AtomicLong();
+        this.tick = new AtomicLong();
+        this.budget = ThreadLocal.withInitial(Budget::new);
+        this.evaluated = new LongAdder();
+        this.skipped = new LongAdder();
+        this.deferrals = new LongAdder();
+        InstanceMailbox.of(instance).repeat(20, this::updateLevels);
+    }
+
+    /**
+     * Get the AI scheduler of the given instance, creating and starting it the first time
+     * the instance is asked for one.
+     */
+    public static CreatureAiScheduler of(@NotNull Instance instance) {
+        return InstanceServices.get(instance, SCHEDULER_TAG, CreatureAiScheduler::new);
+    }
+
+    /**
+     * Start deciding when the creature thinks; it thinks every tick until the next update of the levels.
+     */
+    public void register(@NotNull Creature creature) {
+        this.creatures.add(creature);
+    }
+
+    public void unregister(@NotNull Creature creature) {
+        this.creatures.remove(creature);
+        this.intervals.remove(creature);
+        this.deferred.remove(creature);
+    }
+
+    /**
+     * Decide whether the creature runs its AI during the tick that started at the given time.
+     */
+    public boolean shouldTick(@NotNull Creature creature, long time) {
+        final long seen = this.currentTickTime.get();
+        if (time != seen && this.currentTickTime.compareAndSet(seen, time)) {
+            this.tick.incrementAndGet();
+        }
+        final Budget budget = this.budget.get();
+        if (budget.tick != this.tick.get()) {
+            budget.tick = this.tick.get();
+            budget.spent = 0;
+            budget.owed = budget.deferred;
+            budget.deferred = 0;
+        }
+        final boolean wasDeferred = this.deferred.remove(creature);
+        if (wasDeferred) {
+            budget.owed = Math.max(0, budget.owed - 1);
+        }
+        if (wasDeferred || creature.getTarget() != null) {
+            this.evaluated.increment();
+            return true;
+        }
+        final int interval = this.intervals.getOrDefault(creature, FULL);
+        if (interval == FROZEN || (this.tick.get() + creature.getEntityId()) % interval != 0) {
+            this.skipped.increment();
+            return false;
+        }
+        if (budget.spent >= Config.AI_TICK_BUDGET_NANOS - budget.owed * budget.averageNanos) {
+            this.deferred.add(creature);
+            budget.deferred++;
+            this.deferrals.increment();
+            return false;
+        }
+        this.evaluated.increment();
+        return true;
+    }
+
+    /**
+     * Account for the time a creature spent running its AI against the budget the calling thread has for the
+     * current tick.
+     */
+    public void recordTick(long nanos) {
+        final Budget budget = this.budget.get();
+        budget.spent += nanos;
+        budget.averageNanos += (nanos - budget.averageNanos) / 16;
+    }
+
+    /**
+     * Recompute the level of detail of every registered creature from its distance to the players, then swap the
+     * new levels in.
+     */
+    private void updateLevels() {
+        if (!Config.AI_LEVEL_OF_DETAIL) {
+            return;
+        }
+        // Unregistering removes from the map in use, so it has to be a concurrent one.
+        final Map<Creature, Integer> intervals = new ConcurrentHashMap<>(this.creatures.size());
+        for (final Creature creature : this.creatures) {
+            intervals.put(creature, FROZEN);
+        }
+        final CreatureGrid grid = CreatureGrid.of(this.instance);
+        final double fullRangeSquared = Config.AI_FULL_RANGE * Config.AI_FULL_RANGE;
+        for (final Player player : this.instance.getPlayers()) {
+            grid.forEachInRadius(player.getPosition(), Config.AI_REDUCED_RANGE, creature -> {
+                final Integer interval = intervals.get(creature);
+                if (interval == null || interval == FULL) {
+                    return;
+                }
+                final boolean close = creature.getPosition().distanceSquared(player.getPosition()) <= fullRangeSquared;
+                intervals.put(creature, close ? FULL : Config.AI_REDUCED_INTERVAL);
+            });
+        }
+        this.intervals = intervals;
+    }
+
+    /**
+     * Get the interval, in ticks, at which the creature currently runs its AI; {@link #FROZEN} if it does not.
+     */
+    public int getInterval(@NotNull Creature creature) {
+        return this.intervals.getOrDefault(creature, FULL);
+    }
+
+    public long getEvaluated() {
+        return this.evaluated.sum();
+    }
+
+    public long getSkipped() {
+        return this.skipped.sum();
+    }
+
+    public long getDeferrals() {
+        return this.deferrals.sum();
+    }
+
+    /**
+     * The AI time a single thread spent on the tick it last ticked creatures in, along with the creatures it deferred
+     * during that tick, the ones deferred the tick before that did not think yet, and a moving average of the time
+     * a creature takes to think.
+     */
+    private static final class Budget {
+        private long tick;
+        private long spent;
+        private int deferred;
+        private int owed;
+        private long averageNanos;
+    }
+}
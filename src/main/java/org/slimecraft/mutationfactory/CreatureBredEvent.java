@@ -0,0 +1,25 @@
+package org.slimecraft.mutationfactory;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Recorded by JFR when a breeding pair gives birth; the event spans the building and placing of the offspring.
+ */
+@Name("org.slimecraft.mutationfactory.CreatureBred")
+@Label("Creature Bred")
+@Category("Mutation Factory")
+@Description("A breeding pair gave birth to an offspring")
+public final class CreatureBredEvent extends Event {
+    @Label("Species")
+    public String species;
+
+    @Label("Offspring Level")
+    public int level;
+
+    @Label("Offspring Mutations")
+    public int mutations;
+}
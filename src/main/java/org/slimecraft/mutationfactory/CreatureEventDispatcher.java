@@ -0,0 +1,71 @@
+package org.slimecraft.mutationfactory;
+
+import net.minestom.server.event.entity.EntityAttackEvent;
+import net.minestom.server.event.player.PlayerEntityInteractEvent;
+import net.minestom.server.instance.Instance;
+import net.minestom.server.tag.Tag;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Routes the events targeting a {@link Creature} to the {@link CreatureService} owning that creature.
+ * Exactly one dispatcher exists per {@link Instance}, registering a single listener per event type; the
+ * target is then looked up by its entity id, so the cost of an event no longer grows with the amount of
+ * creatures living in the instance. As handling an event touches both the creature and whoever caused the event,
+ * which may be ticked by different threads, the handling goes through the {@link InstanceMailbox} of the instance,
+ * which runs it while none of those threads is ticking.
+ */
+public class CreatureEventDispatcher {
+    private static final Tag<@NotNull CreatureEventDispatcher> DISPATCHER_TAG = Tag.Transient("creature_event_dispatcher");
+
+    private final Map<Integer, CreatureService> services;
+
+    private CreatureEventDispatcher(Instance instance) {
+        this.services = new ConcurrentHashMap<>();
+        final InstanceMailbox mailbox = InstanceMailbox.of(instance);
+        instance.eventNode().addListener(EntityAttackEvent.class, event -> {
+            final CreatureService service = this.services.get(event.getTarget().getEntityId());
+            if (service == null) {
+                return;
+            }
+            mailbox.post(() -> {
+                final long start = System.nanoTime();
+                service.handleAttack(event);
+                Metrics.ATTACK_DISPATCH_NANOS.record(System.nanoTime() - start);
+            });
+        });
+        instance.eventNode().addListener(PlayerEntityInteractEvent.class, event -> {
+            final CreatureService service = this.services.get(event.getTarget().getEntityId());
+            if (service == null) {
+                return;
+            }
+            mailbox.post(() -> {
+                final long start = System.nanoTime();
+                service.handleInteract(event);
+                Metrics.INTERACT_DISPATCH_NANOS.record(System.nanoTime() - start);
+            });
+        });
+    }
+
+    /**
+     * Get the dispatcher of the given instance, creating and registering it the first time
+     * the instance is asked for one.
+     */
+    public static CreatureEventDispatcher of(@NotNull Instance instance) {
+        return InstanceServices.get(instance, DISPATCHER_TAG, CreatureEventDispatcher::new);
+    }
+
+    public void attach(@NotNull Creature creature, @NotNull CreatureService service) {
+        this.services.put(creature.getEntityId(), service);
+    }
+
+    public void detach(@NotNull Creature creature) {
+        this.services.remove(creature.getEntityId());
+    }
+
+    public int size() {
+        return this.services.size();
+    }
+}
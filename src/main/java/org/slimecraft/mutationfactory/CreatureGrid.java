@@ -0,0 +1,230 @@
+package org.slimecraft.mutationfactory;
+
+import net.minestom.server.coordinate.Point;
+import net.minestom.server.coordinate.Pos;
+import net.minestom.server.coordinate.Vec;
+import net.minestom.server.entity.LivingEntity;
+import net.minestom.server.entity.Player;
+import net.minestom.server.instance.Instance;
+import net.minestom.server.tag.Tag;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * A spatial hash of every {@link Creature} living in an {@link Instance}. Creatures are bucketed into square
+ * columns of {@link #CELL_SIZE} blocks, so radius and ray queries only visit the cells they overlap instead of
+ * every entity of the instance. Exactly one grid exists per instance; creatures are kept up to date by their
+ * {@link CreatureService}. The grid is safe to use from every thread ticking the instance: each creature is only moved
+ * by its own tick, and queries see a weakly consistent view of the cells.
+ */
+public class CreatureGrid {
+    public static final int CELL_SIZE = 8;
+    private static final Tag<@NotNull CreatureGrid> GRID_TAG = Tag.Transient("creature_grid");
+    private static final int CELL_SHIFT = Integer.numberOfTrailingZeros(CELL_SIZE);
+
+    private final Instance instance;
+    private final Map<Long, Set<Creature>> cells;
+    private final Map<Creature, Long> cellOf;
+
+    private CreatureGrid(Instance instance) {
+        this.instance = instance;
+        this.cells = new ConcurrentHashMap<>();
+        this.cellOf = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Get the grid of the given instance, creating it the first time the instance is asked for one.
+     */
+    public static CreatureGrid of(@NotNull Instance instance) {
+        return InstanceServices.get(instance, GRID_TAG, CreatureGrid::new);
+    }
+
+    public void add(@NotNull Creature creature) {
+        final long cell = cellIndex(creature.getPosition());
+        if (this.cellOf.putIfAbsent(creature, cell) != null) {
+            return;
+        }
+        this.addToCell(cell, creature);
+    }
+
+    public void remove(@NotNull Creature creature) {
+        final Long cell = this.cellOf.remove(creature);
+        if (cell == null) {
+            return;
+        }
+        this.removeFromCell(cell, creature);
+    }
+
+    /**
+     * Move the creature to the cell matching its current position; does nothing if it did not leave its cell.
+     */
+    public void move(@NotNull Creature creature) {
+        final Long previous = this.cellOf.get(creature);
+        if (previous == null) {
+            return;
+        }
+        final long cell = cellIndex(creature.getPosition());
+        if (previous == cell) {
+            return;
+        }
+        this.removeFromCell(previous, creature);
+        this.cellOf.put(creature, cell);
+        this.addToCell(cell, creature);
+    }
+
+    private void addToCell(long cell, Creature creature) {
+        this.cells.compute(cell, (key, creatures) -> {
+            final Set<Creature> cellCreatures = creatures != null ? creatures : ConcurrentHashMap.newKeySet();
+            cellCreatures.add(creature);
+            return cellCreatures;
+        });
+    }
+
+    /**
+     * Take the creature out of the cell, dropping the cell once it is empty; done atomically per cell, so
+     * a creature entering the cell at the same time is never lost.
+     */
+    private void removeFromCell(long cell, Creature creature) {
+        this.cells.computeIfPresent(cell, (key, creatures) -> {
+            creatures.remove(creature);
+            return creatures.isEmpty() ? null : creatures;
+        });
+    }
+
+    /**
+     * Run the consumer for every creature within the radius of the origin.
+     */
+    public void forEachInRadius(@NotNull Point origin, double radius, @NotNull Consumer<Creature> consumer) {
+        final double radiusSquared = radius * radius;
+        final int minX = cellCoordinate(origin.x() - radius);
+        final int maxX = cellCoordinate(origin.x() + radius);
+        final int minZ = cellCoordinate(origin.z() - radius);
+        final int maxZ = cellCoordinate(origin.z() + radius);
+        for (int x = minX; x <= maxX; x++) {
+            for (int z = minZ; z <= maxZ; z++) {
+                final Set<Creature> creatures = this.cells.get(cellIndex(x, z));
+                if (creatures == null) {
+                    continue;
+                }
+                for (final Creature creature : creatures) {
+                    if (creature.getPosition().distanceSquared(origin) <= radiusSquared) {
+                        consumer.accept(creature);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Find the closest creature within the radius of the origin matching the filter.
+     */
+    public @Nullable Creature closest(@NotNull Point origin, double radius, @NotNull Predicate<Creature> filter) {
+        final Creature[] closest = new Creature[1];
+        final double[] closestDistance = {Double.MAX_VALUE};
+        this.forEachInRadius(origin, radius, creature -> {
+            final double distance = creature.getPosition().distanceSquared(origin);
+            if (distance < closestDistance[0] && isTargetable(creature) && filter.test(creature)) {
+                closest[0] = creature;
+                closestDistance[0] = distance;
+            }
+        });
+        return closest[0];
+    }
+
+    /**
+     * Find the closest creature whose bounding box is crossed by the ray, walking only the cells
+     * along the ray. Cells are sampled every half cell, together with their neighbours, so creatures
+     * overlapping a cell border are not missed.
+     */
+    public @Nullable Creature raycast(@NotNull Vec start, @NotNull Vec direction, double range, @NotNull Predicate<Creature> filter) {
+        final double rangeSquared = range * range;
+        final Set<Long> visited = new HashSet<>();
+        Creature closest = null;
+        double closestDistance = Double.MAX_VALUE;
+        for (double travelled = 0; travelled <= range; travelled += CELL_SIZE / 2.0) {
+            if (closest != null && travelled * travelled > closestDistance + 2 * CELL_SIZE * CELL_SIZE) {
+                break;
+            }
+            final int cellX = cellCoordinate(start.x() + direction.x() * travelled);
+            final int cellZ = cellCoordinate(start.z() + direction.z() * travelled);
+            for (int x = cellX - 1; x <= cellX + 1; x++) {
+                for (int z = cellZ - 1; z <= cellZ + 1; z++) {
+                    final long cell = cellIndex(x, z);
+                    if (!visited.add(cell)) {
+                        continue;
+                    }
+                    final Set<Creature> creatures = this.cells.get(cell);
+                    if (creatures == null) {
+                        continue;
+                    }
+                    for (final Creature creature : creatures) {
+                        final Pos position = creature.getPosition();
+                        final double distance = position.distanceSquared(start);
+                        if (distance > rangeSquared || distance >= closestDistance || !isTargetable(creature)) {
+                            continue;
+                        }
+                        if (!creature.getBoundingBox().boundingBoxRayIntersectionCheck(start, direction, position)) {
+                            continue;
+                        }
+                        if (filter.test(creature)) {
+                            closest = creature;
+                            closestDistance = distance;
+                        }
+                    }
+                }
+            }
+        }
+        return closest;
+    }
+
+    /**
+     * Find what the viewer is looking at: the closest creature matching the filter or other player whose
+     * bounding box is crossed by the viewer's line of sight and which is not hidden behind blocks.
+     */
+    public @Nullable LivingEntity lineOfSight(@NotNull Player viewer, double range, @NotNull Predicate<Creature> filter) {
+        final Pos position = viewer.getPosition();
+        final Vec start = position.add(0, viewer.getEyeHeight(), 0).asVec();
+        final Vec direction = position.direction();
+        LivingEntity closest = this.raycast(start, direction, range, filter);
+        double closestDistance = closest == null ? range * range : closest.getPosition().distanceSquared(start);
+        for (final Player player : this.instance.getPlayers()) {
+            if (player == viewer || player.isDead()) {
+                continue;
+            }
+            final double distance = player.getPosition().distanceSquared(start);
+            if (distance < closestDistance && player.getBoundingBox().boundingBoxRayIntersectionCheck(start, direction, player.getPosition())) {
+                closest = player;
+                closestDistance = distance;
+            }
+        }
+        if (closest == null || !viewer.hasLineOfSight(closest)) {
+            return null;
+        }
+        return closest;
+    }
+
+    public int size() {
+        return this.cellOf.size();
+    }
+
+    private static boolean isTargetable(Creature creature) {
+        return !creature.isRemoved() && !creature.isDead();
+    }
+
+    private static int cellCoordinate(double coordinate) {
+        return (int) Math.floor(coordinate) >> CELL_SHIFT;
+    }
+
+    private static long cellIndex(Point point) {
+        return cellIndex(cellCoordinate(point.x()), cellCoordinate(point.z()));
+    }
+
+    private static long cellIndex(int cellX, int cellZ) {
+        return ((long) cellX << 32) | (cellZ & 0xFFFFFFFFL);
+    }
+}
@@ -1,54 +1,38 @@
 package org.slimecraft.mutationfactory;
 
-import net.kyori.adventure.key.Key;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.format.NamedTextColor;
 import net.kyori.adventure.text.format.TextColor;
 import net.kyori.adventure.text.format.TextDecoration;
 import net.minestom.server.component.DataComponents;
-import net.minestom.server.entity.EntityType;
 import net.minestom.server.item.ItemStack;
 import net.minestom.server.item.Material;
 import net.minestom.server.tag.Tag;
-import org.jetbrains.annotations.NotNull;
 
-import java.util.Collections;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
+/**
+ * Converts creatures to items and back. The whole creature is stored as a single {@link CreatureRecord} byte-array
+ * tag; decoded records are cached by item identity, so looking at the same item twice decodes it only once. The
+ * cache is shared by every thread; a slot is only ever replaced as a whole, so a thread sees either the old or the new
+ * entry, never a mix of both.
+ */
 public class CreatureItemStack {
-    private static final Tag<@NotNull String> ENTITY_TYPE_TAG = Tag.String("type");
-    private static final Tag<@NotNull String> SPECIES_NAME_TAG = Tag.String("species");
-    private static final Tag<@NotNull Integer> LEVEL_TAG = Tag.Integer("level");
-    private static final Tag<@NotNull Boolean> MALE_TAG = Tag.Boolean("male");
-    // TODO: FIX THIS DISCUSTING SHIT. IS THERE A BETTER WAY? STATS DO NOT SERIALIZE CORRECTLY.
-    private static final Tag<@NotNull Stat> HEALTH_TAG = Tag.Float("health").map(f -> new Stat(f, 0), Stat::getCurrentValue);
-    private static final Tag<@NotNull Stat> STAMINA_TAG = Tag.Float("stamina").map(f -> new Stat(f, 0), Stat::getCurrentValue);
-    private static final Tag<@NotNull Stat> OXYGEN_TAG = Tag.Float("oxygen").map(f -> new Stat(f, 0), Stat::getCurrentValue);
-    private static final Tag<@NotNull Stat> FOOD_TAG = Tag.Float("food").map(f -> new Stat(f, 0), Stat::getCurrentValue);
-    private static final Tag<@NotNull Stat> WEIGHT_TAG = Tag.Float("weight").map(f -> new Stat(f, 0), Stat::getCurrentValue);
-    private static final Tag<@NotNull Stat> MELEE_TAG = Tag.Float("melee").map(f -> new Stat(f, 0), Stat::getCurrentValue);
-    private static final Tag<@NotNull Stat> SPEED_TAG = Tag.Float("speed").map(f -> new Stat(f, 0), Stat::getCurrentValue);
+    private static final Tag<byte[]> RECORD_TAG = Tag.ByteArray("creature");
+    private static final int CACHE_SIZE = 256;
+    private static final AtomicReferenceArray<CachedRecord> CACHE = new AtomicReferenceArray<>(CACHE_SIZE);
 
     private CreatureItemStack() {
     }
 
     public static ItemStack toItem(Creature creature) {
-        Key.key(creature.getEntityType().key().asString() + "_spawn_egg");
-        return ItemStack
+        final long start = System.nanoTime();
+        final ItemStack item = ItemStack
                 .builder(Material.fromKey(creature.getEntityType().key().asString() + "_spawn_egg"))
                 .build()
                 .with(DataComponents.MAX_STACK_SIZE, 1)
-                .withTag(ENTITY_TYPE_TAG, creature.getEntityType().key().asString())
-                .withTag(SPECIES_NAME_TAG, creature.getSpecies().name())
-                .withTag(LEVEL_TAG, creature.getLevel())
-                .withTag(MALE_TAG, creature.isMale())
-                .withTag(Creature.BREEDING_TIME_REMAINING, creature.getBreedTime())
-                .withTag(HEALTH_TAG, creature.getHealthStat())
-                .withTag(STAMINA_TAG, creature.getStamina())
-                .withTag(OXYGEN_TAG, creature.getOxygen())
-                .withTag(FOOD_TAG, creature.getFood())
-                .withTag(WEIGHT_TAG, creature.getWeight())
-                .withTag(MELEE_TAG, creature.getMelee())
-                .withTag(SPEED_TAG, creature.getSpeed())
+                .withTag(RECORD_TAG, CreatureRecord.of(creature).encode())
                 .withCustomName(Component.text(creature.getSpecies().name())
                         .color(NamedTextColor.AQUA)
                         .decorationIfAbsent(TextDecoration.ITALIC, TextDecoration.State.FALSE))
@@ -63,27 +47,34 @@ public class CreatureItemStack {
                                                 : Component.text("Female").color(TextColor.fromHexString("#ff2bf8")))
                                 .decorationIfAbsent(TextDecoration.ITALIC, TextDecoration.State.FALSE)
                                 .colorIfAbsent(NamedTextColor.WHITE));
+        Metrics.ITEM_ENCODE_NANOS.record(System.nanoTime() - start);
+        return item;
     }
 
     public static Creature toCreature(ItemStack item) {
-        return Creature
-                .tamed(
-                        new Species(EntityType.fromKey(item.getTag(ENTITY_TYPE_TAG)), item.getTag(SPECIES_NAME_TAG)),
-                        item.getTag(Creature.BREEDING_TIME_REMAINING),
-                        item.getTag(LEVEL_TAG),
-                        item.getTag(MALE_TAG),
-                        item.getTag(HEALTH_TAG),
-                        item.getTag(STAMINA_TAG),
-                        item.getTag(OXYGEN_TAG),
-                        item.getTag(FOOD_TAG),
-                        item.getTag(WEIGHT_TAG),
-                        item.getTag(MELEE_TAG),
-                        item.getTag(SPEED_TAG),
-                        Collections.emptyList()
-                );
+        return toRecord(item).toCreature();
+    }
+
+    /**
+     * Get the record stored in the item, decoding it only if this exact item was not decoded recently.
+     */
+    public static CreatureRecord toRecord(ItemStack item) {
+        final int slot = System.identityHashCode(item) & (CACHE_SIZE - 1);
+        final CachedRecord cached = CACHE.get(slot);
+        if (cached != null && cached.item().get() == item) {
+            return cached.record();
+        }
+        final long start = System.nanoTime();
+        final CreatureRecord record = CreatureRecord.decode(item.getTag(RECORD_TAG));
+        Metrics.ITEM_DECODE_NANOS.record(System.nanoTime() - start);
+        CACHE.set(slot, new CachedRecord(new WeakReference<>(item), record));
+        return record;
     }
 
     public static boolean isCreatureItem(ItemStack item) {
-        return item.hasTag(ENTITY_TYPE_TAG);
+        return item.hasTag(RECORD_TAG);
+    }
+
+    private record CachedRecord(WeakReference<ItemStack> item, CreatureRecord record) {
     }
 }
@@ -0,0 +1,93 @@
+package org.slimecraft.mutationfactory;
+
+import net.minestom.server.coordinate.Pos;
+import net.minestom.server.instance.Instance;
+import net.minestom.server.tag.Tag;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Recycles the wild creatures of an {@link Instance}. Instead of being removed, a despawned wild creature is
+ * {@link Creature#park() parked} and kept per species, up to {@link Config#POOL_CAPACITY_PER_SPECIES} of them; the
+ * next creature of that species is then the parked one, reset, rather than a newly built one. Its stats, AI groups,
+ * service and dispatcher entry are all reused. Creatures are pooled by their {@link Species}, so only creatures
+ * built from a {@link SpeciesTemplate} share a pool.
+ */
+public class CreaturePool {
+    private static final Tag<@NotNull CreaturePool> POOL_TAG = Tag.Transient("creature_pool");
+
+    private final Instance instance;
+    private final Map<Species, ArrayDeque<Creature>> parked;
+    private long created;
+    private long reused;
+
+    private CreaturePool(Instance instance) {
+        this.instance = instance;
+        this.parked = new HashMap<>();
+    }
+
+    /**
+     * Get the pool of the given instance, creating it the first time the instance is asked for one.
+     */
+    public static CreaturePool of(@NotNull Instance instance) {
+        return InstanceServices.get(instance, POOL_TAG, CreaturePool::new);
+    }
+
+    /**
+     * Place a wild creature of the template's species at the given position, recycling a parked one if there is any.
+     *
+     * @return the creature, once it is in the instance
+     */
+    public synchronized CompletableFuture<Creature> acquire(@NotNull SpeciesTemplate template, int level, @NotNull Pos position) {
+        final ArrayDeque<Creature> creatures = this.parked.get(template.species());
+        final Creature recycled = creatures == null ? null : creatures.poll();
+        if (recycled != null && !recycled.isRemoved()) {
+            this.reused++;
+            return recycled.recycle(level, template.stats(), position).thenApply(ignored -> recycled);
+        }
+        this.created++;
+        final Creature creature = template.builder().level(level).build();
+        return creature.setInstance(this.instance, position).thenApply(ignored -> creature);
+    }
+
+    /**
+     * Take the wild creature out of the game, keeping it for reuse if its species' pool has room; otherwise, or if the
+     * creature is tamed or owned, it is removed for good.
+     */
+    public synchronized void release(@NotNull Creature creature) {
+        if (creature.isTamed() || creature.getOwner() != null || creature.getInstance() != this.instance) {
+            creature.remove();
+            return;
+        }
+        final ArrayDeque<Creature> creatures = this.parked.computeIfAbsent(creature.getSpecies(), species -> new ArrayDeque<>());
+        if (creatures.size() >= Config.POOL_CAPACITY_PER_SPECIES) {
+            creature.remove();
+            return;
+        }
+        creature.park();
+        creatures.push(creature);
+    }
+
+    /**
+     * Get the amount of creatures currently parked, over every species.
+     */
+    public synchronized int size() {
+        int size = 0;
+        for (final ArrayDeque<Creature> creatures : this.parked.values()) {
+            size += creatures.size();
+        }
+        return size;
+    }
+
+    public synchronized long getCreated() {
+        return this.created;
+    }
+
+    public synchronized long getReused() {
+        return this.reused;
+    }
+}
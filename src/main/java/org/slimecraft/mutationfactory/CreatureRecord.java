@@ -0,0 +1,206 @@
+package org.slimecraft.mutationfactory;
+
+import net.minestom.server.coordinate.Pos;
+import net.minestom.server.entity.EntityType;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * Everything needed to rebuild a {@link Creature}, along with its compact binary form. The binary form starts with
+ * a version byte so records written by older versions of the server keep decoding; every stat is stored
+ * with all of its fields, so upgrades survive a round trip. Records of creatures that were never spawned, such
+ * as the ones stored in items, carry {@link Pos#ZERO} as their position.
+ */
+public record CreatureRecord(
+        @Nullable UUID uuid,
+        @Nullable UUID owner,
+        @NotNull Pos position,
+        int entityTypeId,
+        @NotNull String speciesName,
+        int level,
+        boolean male,
+        boolean tamed,
+        int breedTime,
+        int breedingTimeRemaining,
+        @NotNull StatBlock stats
+) {
+    public static final byte VERSION = 4;
+    private static final int STAT_BYTES = 3 * Float.BYTES + 2 * Integer.BYTES;
+    private static final int V1_STAT_BYTES = 3 * Float.BYTES + Integer.BYTES;
+    private static final int POSITION_BYTES = 3 * Double.BYTES + 2 * Float.BYTES;
+    private static final int MALE_FLAG = 1;
+    private static final int TAMED_FLAG = 1 << 1;
+    private static final int OWNED_FLAG = 1 << 2;
+
+    /**
+     * Get a copy of the stats of the record. Records are shared, for example by the cache of decoded items, so the
+     * block they hold is never handed out.
+     */
+    @Override
+    public @NotNull StatBlock stats() {
+        return this.stats.copy();
+    }
+
+    public static CreatureRecord of(@NotNull Creature creature) {
+        return new CreatureRecord(
+                creature.getUuid(),
+                creature.getOwner(),
+                creature.getPosition(),
+                creature.getEntityType().id(),
+                creature.getSpecies().name(),
+                creature.getLevel(),
+                creature.isMale(),
+                creature.isTamed(),
+                creature.getBreedTime(),
+                creature.getBreedingTimeRemaining(),
+                creature.getStats().copy()
+        );
+    }
+
+    /**
+     * Build a new creature from this record, sharing the registered {@link Species} when the registry knows it.
+     * The stats are copied, so the creature never shares
+     * state with the record or with any other creature built from it.
+     */
+    public Creature toCreature() {
+        return Creature
+                .builder(CreatureRegistry.species(this.speciesName, EntityType.fromId(this.entityTypeId)), this.breedTime, this.stats)
+                .level(this.level)
+                .male(this.male)
+                .tamed(this.tamed)
+                .uuid(this.uuid)
+                .owner(this.owner)
+                .breedingTimeRemaining(this.breedingTimeRemaining)
+                .build();
+    }
+
+    public byte[] encode() {
+        final byte[] name = this.speciesName.getBytes(StandardCharsets.UTF_8);
+        final int size = Byte.BYTES + 4 * Long.BYTES + POSITION_BYTES + Integer.BYTES + Short.BYTES + name.length
+                + Integer.BYTES + Byte.BYTES + 2 * Integer.BYTES + Short.BYTES + this.stats.size() * STAT_BYTES;
+        final ByteBuffer buffer = ByteBuffer.allocate(size);
+        buffer.put(VERSION);
+        writeUuid(buffer, this.uuid);
+        writeUuid(buffer, this.owner);
+        buffer.putDouble(this.position.x());
+        buffer.putDouble(this.position.y());
+        buffer.putDouble(this.position.z());
+        buffer.putFloat(this.position.yaw());
+        buffer.putFloat(this.position.pitch());
+        buffer.putInt(this.entityTypeId);
+        buffer.putShort((short) name.length);
+        buffer.put(name);
+        buffer.putInt(this.level);
+        buffer.put((byte) ((this.male ? MALE_FLAG : 0) | (this.tamed ? TAMED_FLAG : 0) | (this.owner != null ? OWNED_FLAG : 0)));
+        buffer.putInt(this.breedTime);
+        buffer.putInt(this.breedingTimeRemaining);
+        writeStats(buffer, this.stats);
+        return buffer.array();
+    }
+
+    /**
+     * Decode a record straight from the given bytes without copying them first.
+     *
+     * @throws IllegalArgumentException if the record was written by an unknown version
+     */
+    public static CreatureRecord decode(byte[] bytes) {
+        final ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        final byte version = buffer.get();
+        if (version < 1 || version > VERSION) {
+            throw new IllegalArgumentException("Unknown creature record version " + version);
+        }
+        UUID uuid = null;
+        UUID owner = null;
+        Pos position = Pos.ZERO;
+        if (version >= 2) {
+            uuid = readUuid(buffer);
+            owner = readUuid(buffer);
+            position = new Pos(buffer.getDouble(), buffer.getDouble(), buffer.getDouble(), buffer.getFloat(), buffer.getFloat());
+        }
+        final int entityTypeId = buffer.getInt();
+        final int nameLength = buffer.getShort();
+        final String speciesName = new String(bytes, buffer.position(), nameLength, StandardCharsets.UTF_8);
+        buffer.position(buffer.position() + nameLength);
+        final int level = buffer.getInt();
+        final byte flags = buffer.get();
+        final int breedTime = buffer.getInt();
+        final int breedingTimeRemaining = version >= 3 ? buffer.getInt() : breedTime;
+        final StatBlock stats = readStats(buffer, version);
+        if ((flags & OWNED_FLAG) == 0) {
+            owner = null;
+        }
+        return new CreatureRecord(
+                uuid,
+                owner,
+                position,
+                entityTypeId,
+                speciesName,
+                level,
+                (flags & MALE_FLAG) != 0,
+                (flags & TAMED_FLAG) != 0,
+                breedTime,
+                breedingTimeRemaining,
+                stats
+        );
+    }
+
+    /**
+     * Write the UUID, or zeroes if there is none; the reader relies on flags to tell both apart.
+     */
+    private static void writeUuid(ByteBuffer buffer, @Nullable UUID uuid) {
+        buffer.putLong(uuid == null ? 0 : uuid.getMostSignificantBits());
+        buffer.putLong(uuid == null ? 0 : uuid.getLeastSignificantBits());
+    }
+
+    private static UUID readUuid(ByteBuffer buffer) {
+        return new UUID(buffer.getLong(), buffer.getLong());
+    }
+
+    /**
+     * Write the amount of additional stats, followed by the core stats and the additional stats.
+     */
+    private static void writeStats(ByteBuffer buffer, StatBlock stats) {
+        buffer.putShort((short) stats.additionalStats());
+        for (int stat = 0; stat < stats.size(); stat++) {
+            buffer.putFloat(stats.getBase(stat));
+            buffer.putFloat(stats.getCurrent(stat));
+            buffer.putFloat(stats.getIncrement(stat));
+            buffer.putInt(stats.getPoints(stat));
+            buffer.putInt(stats.getMutations(stat));
+        }
+    }
+
+    /**
+     * Read the stats written by {@link #writeStats(ByteBuffer, StatBlock)}. Version 1 wrote the core stats before
+     * the amount of additional stats, so the amount is read first by skipping over them.
+     */
+    private static StatBlock readStats(ByteBuffer buffer, byte version) {
+        if (version == 1) {
+            final int core = buffer.position();
+            buffer.position(core + StatBlock.CORE_STATS * V1_STAT_BYTES);
+            final StatBlock stats = new StatBlock(buffer.getShort());
+            final int additional = buffer.position();
+            buffer.position(core);
+            for (int stat = 0; stat < StatBlock.CORE_STATS; stat++) {
+                stats.set(stat, buffer.getFloat(), buffer.getFloat(), buffer.getFloat(), buffer.getInt());
+            }
+            buffer.position(additional);
+            for (int stat = StatBlock.CORE_STATS; stat < stats.size(); stat++) {
+                stats.set(stat, buffer.getFloat(), buffer.getFloat(), buffer.getFloat(), buffer.getInt());
+            }
+            return stats;
+        }
+        final StatBlock stats = new StatBlock(buffer.getShort());
+        for (int stat = 0; stat < stats.size(); stat++) {
+            stats.set(stat, buffer.getFloat(), buffer.getFloat(), buffer.getFloat(), buffer.getInt());
+            if (version >= 4) {
+                stats.setMutations(stat, buffer.getInt());
+            }
+        }
+        return stats;
+    }
+}
@@ -1,87 +1,188 @@
 package org.slimecraft.mutationfactory;
 
 import net.minestom.server.entity.EntityType;
-import net.minestom.server.entity.Player;
-import net.minestom.server.entity.ai.EntityAIGroup;
-import net.minestom.server.entity.ai.goal.MeleeAttackGoal;
-import net.minestom.server.entity.ai.target.ClosestEntityTarget;
-import net.minestom.server.entity.ai.target.LastEntityDamagerTarget;
-import net.minestom.server.utils.time.TimeUnit;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
-import java.util.function.Supplier;
+import java.util.random.RandomGenerator;
 
+/**
+ * The species creatures can be spawned as, loaded once from the {@link Config#SPECIES_FILE} {@link DataFiles data
+ * file}. Every species is compiled into an immutable {@link SpeciesTemplate} indexed by a dense id, which is also
+ * the id of its {@link Species}, and random picks go through an {@link AliasTable} built from the species weights.
+ * The attacks, flees and herds lists of the species are compiled into {@link SpeciesRelations}.
+ */
 public class CreatureRegistry {
-    private static final Map<String, Supplier<Creature>> CREATURES = new HashMap<>();
-    private static final Random RANDOM = new Random();
-
-    private static final Supplier<Creature> BULL = () -> Creature
-            .wild(
-                    new Species(EntityType.COW, "Bull"),
-                    30,
-                    new Stat(100, 100F),
-                    new Stat(100, 300F),
-                    Stat.EMPTY,
-                    Stat.EMPTY,
-                    Stat.EMPTY,
-                    new Stat(20, 20F),
-                    new Stat(0.4F, 1),
-                    creature -> {
-                        final EntityAIGroup aiGroup = new EntityAIGroup();
-                        aiGroup.getGoalSelectors().add(new MeleeAttackGoal(creature, 0.5, 2, TimeUnit.SECOND));
-                        aiGroup.getTargetSelectors().add(new LastEntityDamagerTarget(creature, 5));
-                        aiGroup.getTargetSelectors().add(new ClosestEntityTarget(creature, 5, entity ->
-                                entity instanceof Player || entity instanceof Creature target && !target.getSpecies().name().equals("Bull")));
-                        creature.addAIGroup(aiGroup);
-                    });
-
-    private static final Supplier<Creature> JUMBUCK = () -> Creature
-            .wild(
-                    new Species(EntityType.SHEEP, "Jumbuck"),
-                    10,
-                    new Stat(20, 50F),
-                    new Stat(20, 150F),
-                    Stat.EMPTY,
-                    Stat.EMPTY,
-                    Stat.EMPTY,
-                    new Stat(20, 13F),
-                    new Stat(0.6F, 1)
-            );
-
-    private static final Supplier<Creature> SCAVENGER = () -> Creature
-            .wild(
-                    new Species(EntityType.PHANTOM, "Scavenger"),
-                    60,
-                    new Stat(20, 50F),
-                    new Stat(20, 150F),
-                    Stat.EMPTY,
-                    Stat.EMPTY,
-                    Stat.EMPTY,
-                    new Stat(20, 13F),
-                    new Stat(0.7F, 1),
-                    creature -> {
-                        final EntityAIGroup aiGroup = new EntityAIGroup();
-                        aiGroup.getGoalSelectors().add(new MeleeAttackGoal(creature, 0.5, 10, TimeUnit.SERVER_TICK));
-                        aiGroup.getTargetSelectors().add(new LastEntityDamagerTarget(creature, 15));
-                        aiGroup.getTargetSelectors().add(new ClosestEntityTarget(creature, 15, entity ->
-                                entity instanceof Player || entity instanceof Creature target && !target.getSpecies().equals(creature.getSpecies())));
-                        creature.addAIGroup(aiGroup);
-                    }
-            );
+    private static final String[] STATS = {"health", "stamina", "oxygen", "food", "weight", "melee", "speed"};
+    private static final String PLAYER = "player";
+    private static final List<SpeciesTemplate> TEMPLATES;
+    private static final Map<String, SpeciesTemplate> BY_KEY;
+    private static final Map<String, SpeciesTemplate> BY_NAME;
+    private static final AliasTable WEIGHTS;
+    private static final SpeciesRelations RELATIONS;
 
     static {
-        CREATURES.put("bull", BULL);
-        CREATURES.put("sheep", JUMBUCK);
-        CREATURES.put("scavenger", SCAVENGER);
+        final Properties properties = DataFiles.read(Config.SPECIES_FILE);
+        TEMPLATES = load(properties);
+        final Map<String, SpeciesTemplate> byKey = new HashMap<>();
+        final Map<String, SpeciesTemplate> byName = new HashMap<>();
+        final int[] weights = new int[TEMPLATES.size()];
+        for (final SpeciesTemplate template : TEMPLATES) {
+            byKey.put(template.key(), template);
+            byName.put(template.species().name(), template);
+            weights[template.id()] = template.weight();
+        }
+        BY_KEY = Map.copyOf(byKey);
+        BY_NAME = Map.copyOf(byName);
+        WEIGHTS = new AliasTable(weights);
+        RELATIONS = loadRelations(properties);
+    }
+
+    private CreatureRegistry() {
     }
 
     public static Creature of(String identifier) {
-        return CREATURES.get(identifier).get();
+        final SpeciesTemplate template = BY_KEY.get(identifier);
+        if (template == null) {
+            throw new IllegalArgumentException("Unknown species " + identifier);
+        }
+        return template.create();
     }
 
+    /**
+     * Build a creature of a species picked at random, in proportion to the species weights.
+     */
     public static Creature random() {
-        final String[] keys = CREATURES.keySet().toArray(new String[]{});
-        final int randomIndex = RANDOM.nextInt(keys.length);
-        return CREATURES.get(keys[randomIndex]).get();
+        return randomTemplate().create();
+    }
+
+    public static SpeciesTemplate randomTemplate() {
+        return randomTemplate(Rng.current());
+    }
+
+    public static SpeciesTemplate randomTemplate(@NotNull RandomGenerator random) {
+        return TEMPLATES.get(WEIGHTS.sample(random));
+    }
+
+    /**
+     * Get the template declared under the given key in the data file, or null if there is none.
+     */
+    public static @Nullable SpeciesTemplate byKey(@NotNull String key) {
+        return BY_KEY.get(key);
+    }
+
+    public static SpeciesTemplate get(int id) {
+        return TEMPLATES.get(id);
+    }
+
+    public static @Nullable SpeciesTemplate byName(@NotNull String name) {
+        return BY_NAME.get(name);
+    }
+
+    /**
+     * Get the shared {@link Species} with the given name and entity type, or a new one if the registry does not
+     * know it, such as a creature stored before its species was removed from the data file.
+     */
+    public static Species species(@NotNull String name, @NotNull EntityType entityType) {
+        final SpeciesTemplate template = BY_NAME.get(name);
+        if (template != null && template.species().entityType() == entityType) {
+            return template.species();
+        }
+        return new Species(entityType, name);
+    }
+
+    public static List<SpeciesTemplate> templates() {
+        return TEMPLATES;
+    }
+
+    public static SpeciesRelations relations() {
+        return RELATIONS;
+    }
+
+    /**
+     * Compile the templates declared in the given properties, in the order of their {@code species} list.
+     *
+     * @throws IllegalArgumentException if a species is missing a required property or has a malformed one
+     */
+    private static List<SpeciesTemplate> load(Properties properties) {
+        final String list = properties.getProperty("species", "").trim();
+        if (list.isEmpty()) {
+            throw new IllegalArgumentException("No species declared in " + Config.SPECIES_FILE);
+        }
+        final List<SpeciesTemplate> templates = new ArrayList<>();
+        for (final String declared : list.split(",")) {
+            final String key = declared.trim();
+            final String entityKey = required(properties, key, "entity");
+            final EntityType entityType = EntityType.fromKey(entityKey);
+            if (entityType == null) {
+                throw new IllegalArgumentException("Unknown entity type " + entityKey + " for species " + key);
+            }
+            final StatBlock stats = new StatBlock(0);
+            for (int stat = 0; stat < STATS.length; stat++) {
+                stats.set(stat, parseStat(key, STATS[stat], properties.getProperty(key + "." + STATS[stat])));
+            }
+            templates.add(new SpeciesTemplate(
+                    templates.size(),
+                    key,
+                    new Species(templates.size(), entityType, required(properties, key, "name")),
+                    Integer.parseInt(required(properties, key, "breedTime")),
+                    Integer.parseInt(properties.getProperty(key + ".weight", "1").trim()),
+                    stats,
+                    CreatureAiFactory.parse(properties.getProperty(key + ".ai", "passive")).andThen(CreatureAiFactory.INSTINCTS)
+            ));
+        }
+        return List.copyOf(templates);
+    }
+
+    /**
+     * Compile the {@code attacks}, {@code flees} and {@code herds} lists of every species, each a comma separated
+     * list of species keys and {@code player}.
+     *
+     * @throws IllegalArgumentException if a list names a species that is not declared
+     */
+    private static SpeciesRelations loadRelations(Properties properties) {
+        final SpeciesRelations.Builder builder = SpeciesRelations.builder(TEMPLATES.size());
+        for (final SpeciesTemplate template : TEMPLATES) {
+            for (final SpeciesRelations.Relation relation : SpeciesRelations.Relation.values()) {
+                final String property = relation.name().toLowerCase(Locale.ROOT);
+                final String list = properties.getProperty(template.key() + "." + property, "").trim();
+                if (list.isEmpty()) {
+                    continue;
+                }
+                for (final String declared : list.split(",")) {
+                    final String key = declared.trim();
+                    if (key.equals(PLAYER)) {
+                        builder.player(relation, template.id());
+                        continue;
+                    }
+                    final SpeciesTemplate other = BY_KEY.get(key);
+                    if (other == null) {
+                        throw new IllegalArgumentException("Species " + template.key() + " " + property + " unknown species " + key);
+                    }
+                    builder.species(relation, template.id(), other.id());
+                }
+            }
+        }
+        return builder.build();
+    }
+
+    private static String required(Properties properties, String key, String property) {
+        final String value = properties.getProperty(key + "." + property);
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException("Species " + key + " is missing " + property);
+        }
+        return value.trim();
+    }
+
+    private static Stat parseStat(String key, String name, @Nullable String value) {
+        if (value == null) {
+            return Stat.EMPTY;
+        }
+        final String[] parts = value.split(",");
+        if (parts.length != 2) {
+            throw new IllegalArgumentException("Expected <base>,<increment> for " + name + " of species " + key + ", got " + value);
+        }
+        return new Stat(Float.parseFloat(parts[0].trim()), Float.parseFloat(parts[1].trim()));
     }
 }
@@ -0,0 +1,149 @@
+package org.slimecraft.mutationfactory;
+
+import net.minestom.server.instance.Instance;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Every owned creature currently living in an instance, indexed by creature UUID, owner, instance and species.
+ * Creatures join the roster when they spawn and leave it when they stop existing. Every change is constant time and
+ * only locks the entries it touches: the instance and species indices hold concurrent sets, which readers on any
+ * thread iterate without locking while creatures come and go. The lists of a single owner are short and read far
+ * more often than they change, so they stay immutable and are copied on every change, giving readers a consistent
+ * snapshot.
+ */
+public final class CreatureRoster {
+    private static final Map<UUID, Entry> BY_ID = new ConcurrentHashMap<>();
+    private static final Map<UUID, List<Creature>> BY_OWNER = new ConcurrentHashMap<>();
+    private static final Map<UUID, Set<Creature>> BY_INSTANCE = new ConcurrentHashMap<>();
+    private static final Map<Species, Set<Creature>> BY_SPECIES = new ConcurrentHashMap<>();
+
+    private CreatureRoster() {
+    }
+
+    /**
+     * Add the creature to the roster if it is owned and lives in an instance; a creature that was already
+     * registered is re-indexed under its current owner and instance.
+     */
+    public static void register(@NotNull Creature creature) {
+        BY_ID.compute(creature.getUuid(), (key, previous) -> {
+            if (previous != null) {
+                deindex(previous);
+            }
+            final UUID owner = creature.getOwner();
+            final Instance instance = creature.getInstance();
+            if (owner == null || instance == null) {
+                return null;
+            }
+            final Entry entry = new Entry(creature, owner, instance.getUuid(), creature.getSpecies());
+            BY_OWNER.compute(entry.owner(), (ignored, creatures) -> with(creatures, creature));
+            add(BY_INSTANCE, entry.instance(), creature);
+            add(BY_SPECIES, entry.species(), creature);
+            return entry;
+        });
+    }
+
+    public static void unregister(@NotNull Creature creature) {
+        BY_ID.computeIfPresent(creature.getUuid(), (key, entry) -> {
+            if (entry.creature() != creature) {
+                return entry;
+            }
+            deindex(entry);
+            return null;
+        });
+    }
+
+    /**
+     * Take the creature of the entry out of the owner, instance and species indices. Only called while the entry
+     * is locked in {@link #BY_ID}, so a creature is never indexed and taken out at the same time.
+     */
+    private static void deindex(Entry entry) {
+        final Creature creature = entry.creature();
+        BY_OWNER.computeIfPresent(entry.owner(), (key, creatures) -> without(creatures, creature));
+        remove(BY_INSTANCE, entry.instance(), creature);
+        remove(BY_SPECIES, entry.species(), creature);
+    }
+
+    public static @Nullable Creature get(@NotNull UUID creature) {
+        final Entry entry = BY_ID.get(creature);
+        return entry == null ? null : entry.creature();
+    }
+
+    /**
+     * Check whether the creature is registered as owned by the given player.
+     */
+    public static boolean isOwnedBy(@NotNull Creature creature, @NotNull UUID owner) {
+        final Entry entry = BY_ID.get(creature.getUuid());
+        return entry != null && entry.creature() == creature && entry.owner().equals(owner);
+    }
+
+    public static List<Creature> byOwner(@NotNull UUID owner) {
+        return BY_OWNER.getOrDefault(owner, List.of());
+    }
+
+    /**
+     * Get a live, unmodifiable view of the creatures living in the instance; iterating it never fails while
+     * creatures come and go, but may or may not see the ones that do.
+     */
+    public static Collection<Creature> byInstance(@NotNull Instance instance) {
+        final Set<Creature> creatures = BY_INSTANCE.get(instance.getUuid());
+        return creatures == null ? Set.of() : Collections.unmodifiableSet(creatures);
+    }
+
+    /**
+     * Get a live, unmodifiable view of the creatures of the species, like {@link #byInstance(Instance)}.
+     */
+    public static Collection<Creature> bySpecies(@NotNull Species species) {
+        final Set<Creature> creatures = BY_SPECIES.get(species);
+        return creatures == null ? Set.of() : Collections.unmodifiableSet(creatures);
+    }
+
+    public static int size() {
+        return BY_ID.size();
+    }
+
+    /**
+     * Add the creature to the set of the key, within the lock of the key, so it never lands in a set that was
+     * just dropped for being empty.
+     */
+    private static <K> void add(Map<K, Set<Creature>> index, K key, Creature creature) {
+        index.compute(key, (ignored, creatures) -> {
+            final Set<Creature> set = creatures == null ? ConcurrentHashMap.newKeySet() : creatures;
+            set.add(creature);
+            return set;
+        });
+    }
+
+    private static <K> void remove(Map<K, Set<Creature>> index, K key, Creature creature) {
+        index.computeIfPresent(key, (ignored, creatures) -> creatures.remove(creature) && creatures.isEmpty() ? null : creatures);
+    }
+
+    private static List<Creature> with(@Nullable List<Creature> creatures, Creature creature) {
+        if (creatures == null) {
+            return List.of(creature);
+        }
+        final List<Creature> copy = new ArrayList<>(creatures.size() + 1);
+        copy.addAll(creatures);
+        copy.add(creature);
+        return List.copyOf(copy);
+    }
+
+    /**
+     * Copy the list without the creature, compared by identity; an empty result removes the index entry.
+     */
+    private static @Nullable List<Creature> without(List<Creature> creatures, Creature creature) {
+        final List<Creature> copy = new ArrayList<>(creatures.size());
+        for (final Creature candidate : creatures) {
+            if (candidate != creature) {
+                copy.add(candidate);
+            }
+        }
+        return copy.isEmpty() ? null : List.copyOf(copy);
+    }
+
+    private record Entry(Creature creature, UUID owner, UUID instance, Species species) {
+    }
+}
@@ -2,163 +2,218 @@ package org.slimecraft.mutationfactory;
 
 import net.kyori.adventure.text.Component;
 import net.minestom.server.entity.Entity;
-import net.minestom.server.entity.EntityType;
-import net.minestom.server.entity.Player;
 import net.minestom.server.entity.PlayerHand;
 import net.minestom.server.entity.attribute.Attribute;
 import net.minestom.server.entity.damage.Damage;
-import net.minestom.server.entity.metadata.display.AbstractDisplayMeta;
-import net.minestom.server.entity.metadata.display.TextDisplayMeta;
-import net.minestom.server.event.EventListener;
 import net.minestom.server.event.entity.EntityAttackEvent;
 import net.minestom.server.event.player.PlayerEntityInteractEvent;
-import net.minestom.server.event.trait.InstanceEvent;
-import net.minestom.server.timer.TaskSchedule;
-import org.jetbrains.annotations.NotNull;
 
-import java.util.Random;
-import java.util.Set;
+import java.util.List;
 
 public class CreatureService {
     private final Creature creature;
-    private EventListener<? extends @NotNull InstanceEvent> tameListener;
-    private EventListener<? extends @NotNull InstanceEvent> creatureInteractListener;
     private int timesHit;
-    private final Random random;
+    private Metrics.LiveKey liveKey;
 
     public CreatureService(Creature creature) {
         this.creature = creature;
-        this.random = new Random();
+    }
+
+    /**
+     * Forget everything the service learned about its creature, before the creature is recycled.
+     */
+    public void reset() {
+        this.timesHit = 0;
     }
 
     public void whenSpawned() {
-        this.initializeListeners();
         this.attachListeners();
         this.attachHologram();
+        CreatureGrid.of(this.creature.getInstance()).add(this.creature);
+        CreatureAiScheduler.of(this.creature.getInstance()).register(this.creature);
+        CreatureRoster.register(this.creature);
+        if (this.liveKey == null) {
+            this.liveKey = Metrics.creatureLiving(this.creature.getSpecies(), this.creature.isTamed());
+        }
+    }
+
+    /**
+     * Move the creature to the live count of its new tamed state, if it is currently counted.
+     */
+    public void whenTamedChanged() {
+        if (this.liveKey == null) {
+            return;
+        }
+        Metrics.creatureGone(this.liveKey);
+        this.liveKey = Metrics.creatureLiving(this.creature.getSpecies(), this.creature.isTamed());
+    }
+
+    public void whenTicked() {
+        if (this.creature.getInstance() == null) {
+            return;
+        }
+        CreatureGrid.of(this.creature.getInstance()).move(this.creature);
+    }
+
+    /**
+     * Forget the creature for good once it died; creatures that are merely removed, for example to
+     * become an item, are dealt with by whoever removes them.
+     */
+    public void whenKilled() {
+        this.forget();
     }
 
     public void whenNoLongerExisting() {
         this.detachListeners();
-        this.creature.getPassengers().forEach(entity -> {
-            if (entity.getEntityType() != EntityType.TEXT_DISPLAY) {
-                return;
+        if (this.creature.getInstance() != null) {
+            CreatureGrid.of(this.creature.getInstance()).remove(this.creature);
+            final BreedingScheduler breeding = BreedingScheduler.existing(this.creature.getInstance());
+            if (breeding != null) {
+                breeding.cancel(this.creature);
             }
-            entity.remove();
-        });
+            HologramManager.of(this.creature.getInstance()).untrack(this.creature);
+            CreatureAiScheduler.of(this.creature.getInstance()).unregister(this.creature);
+        }
+        CreatureRoster.unregister(this.creature);
+        if (this.liveKey != null) {
+            Metrics.creatureGone(this.liveKey);
+            this.liveKey = null;
+        }
     }
 
     private void attachHologram() {
-        final Entity hologram = new Entity(EntityType.TEXT_DISPLAY);
-        hologram.editEntityMeta(TextDisplayMeta.class, meta -> {
-            meta.setAlignment(TextDisplayMeta.Alignment.CENTER);
-            meta.setBillboardRenderConstraints(AbstractDisplayMeta.BillboardConstraints.CENTER);
-            meta.setText(Component.text(this.creature.getSpecies().name()).append(Component.text(" | ")).append(Component.text(this.creature.getLevel())));
-            meta.setUseDefaultBackground(true);
-        });
-        this.creature.addPassenger(hologram);
+        HologramManager.of(this.creature.getInstance()).track(this.creature);
     }
 
-    private void initializeListeners() {
-        this.tameListener = EventListener.builder(EntityAttackEvent.class)
-                .handler(event -> {
-                    if (!(event.getEntity() instanceof final Player player)) {
-                        return;
+    /**
+     * Handle an attack on this creature; called by the {@link CreatureEventDispatcher} of the creature's instance.
+     */
+    void handleAttack(EntityAttackEvent event) {
+        if (this.creature.isRemoved() || this.creature.isParked()) {
+            return;
+        }
+        if (!(event.getEntity() instanceof final MutationFactoryPlayer player) || player.getTarget().isPresent()) {
+            return;
+        }
+        if (!this.creature.isTamed()) {
+            this.creature.damage(Damage.fromPlayer(player, 0));
+            this.timesHit++;
+            if (this.timesHit == creature.getLevel()) {
+                this.creature.setTamed(true);
+                Metrics.TAMES.increment();
+                final CreatureTamedEvent tamed = new CreatureTamedEvent();
+                if (tamed.shouldCommit()) {
+                    tamed.species = this.creature.getSpecies().name();
+                    tamed.level = this.creature.getLevel();
+                    tamed.player = player.getUsername();
+                    tamed.commit();
+                }
+                player.sendMessage(Component.text("IT WAS TAMED!"));
+                player.getInventory().addItemStack(CreatureItemStack.toItem(this.creature));
+                this.creature.remove();
+            }
+        } else {
+            player.openInventory(new CreatureInventory(this.creature));
+        }
+    }
+
+    /**
+     * Handle an interaction with this creature; called by the {@link CreatureEventDispatcher} of the creature's
+     * instance.
+     */
+    void handleInteract(PlayerEntityInteractEvent event) {
+        if (this.creature.isRemoved() || this.creature.isParked() || !this.creature.isTamed() || event.getHand() != PlayerHand.MAIN) {
+            return;
+        }
+        final MutationFactoryPlayer player = (MutationFactoryPlayer) event.getPlayer();
+        if (player.isSneaking()) {
+            player.getInventory().addItemStack(CreatureItemStack.toItem(this.creature));
+            this.forget();
+            this.creature.remove();
+        } else {
+            if (this.creature.getLeashHolder() != null) {
+                this.creature.setLeashHolder(null);
+                BreedingScheduler.of(this.creature.getInstance()).cancel(this.creature);
+                return;
+            }
+            this.creature.setLeashHolder(player);
+            final List<Entity> leashed = List.copyOf(player.getLeashedEntities());
+            if (leashed.size() == 2) {
+                for (final Entity entity : leashed) {
+                    if (!(entity instanceof final Creature creature) || creature == this.creature) {
+                        continue;
                     }
-                    if (!this.creature.isTamed()) {
-                        this.creature.damage(Damage.fromPlayer(player, 0));
-                        this.timesHit++;
-                        if (this.timesHit == creature.getLevel()) {
-                            this.creature.setTamed(true);
-                            player.sendMessage(Component.text("IT WAS TAMED!"));
-                            player.getInventory().addItemStack(CreatureItemStack.toItem(this.creature));
-                            this.creature.remove();
-                        }
-                    } else {
-                        player.openInventory(new CreatureInventory(this.creature));
+                    if (this.creature.getSpecies().isSame(creature.getSpecies()) && (this.creature.isMale() != creature.isMale())) {
+                        this.breedWith(creature);
                     }
-                })
-                .filter(event ->
-                        event.getTarget() == this.creature && event.getEntity() instanceof MutationFactoryPlayer player && (player.getTarget().isEmpty()))
-                .build();
-
-        this.creatureInteractListener = EventListener.builder(PlayerEntityInteractEvent.class)
-                .handler(event -> {
-                    final MutationFactoryPlayer player = (MutationFactoryPlayer) event.getPlayer();
-                    if (player.isSneaking()) {
-                        player.getInventory().addItemStack(CreatureItemStack.toItem(this.creature));
-                        player.removeCreatureInSameInstance(creature);
-                        this.creature.remove();
-                    } else {
-                        if (this.creature.getLeashHolder() != null) {
-                            this.creature.setLeashHolder(null);
-                            return;
-                        }
-                        this.creature.setLeashHolder(player);
-                        final Set<Entity> leashed = player.getLeashedEntities();
-                        if (leashed.size() == 2) {
-                            leashed.forEach(entity -> {
-                                if (!(entity instanceof final Creature creature)) {
-                                    return;
-                                }
-                                if (creature == this.creature) {
-                                    return;
-                                }
-                                if (this.creature.getSpecies().name().equals(creature.getSpecies().name()) && (this.creature.isMale() != creature.isMale())) {
-                                    this.creature.setLeashHolder(creature);
-                                    this.creature.scheduler().submitTask(() -> {
-                                        if (creature.getTag(Creature.BREEDING_TIME_REMAINING) == 0) {
-                                            int level;
-                                            if (this.creature.getLevel() < 100 || creature.getLevel() < 100) {
-                                                level = (int) Math.round((this.creature.getLevel() + creature.getLevel() + 0.0) / 2 + 5);
-                                            } else {
-                                                level = (int) Math.round((this.creature.getLevel() + creature.getLevel() + 0.0) / 2 * this.random.nextDouble(0.95, 1.05));
-                                            }
-                                            final Creature baby = Creature.tamed(
-                                                    this.creature.getSpecies(),
-                                                    this.creature.getBreedTime(),
-                                                    level,
-                                                    this.creature.isMale(),
-                                                    this.creature.getHealthStat(),
-                                                    this.creature.getStamina(),
-                                                    this.creature.getOxygen(),
-                                                    this.creature.getFood(),
-                                                    this.creature.getWeight(),
-                                                    this.creature.getMelee(),
-                                                    this.creature.getSpeed(),
-                                                    this.creature.getAdditionalStats()
-                                            );
-                                            baby.getAttribute(Attribute.SCALE).setBaseValue(0.1);
-                                            baby.setInstance(this.creature.getInstance(), this.creature.getPosition().withZ(z -> z - 2));
-                                            creature.setLeashHolder(null);
-                                            this.creature.setLeashHolder(null);
-                                            return TaskSchedule.stop();
-                                        }
-                                        creature.updateTag(Creature.BREEDING_TIME_REMAINING, remaining -> remaining - 1);
-                                        return TaskSchedule.seconds(1);
-                                    });
-                                }
-                            });
-                            player.getLeashedEntities().forEach(entity -> {
-                                if (!(entity instanceof final Creature creature)) {
-                                    return;
-                                }
-                                creature.setLeashHolder(null);
-                            });
-                        }
+                }
+                for (final Entity entity : List.copyOf(player.getLeashedEntities())) {
+                    if (entity instanceof final Creature creature) {
+                        creature.setLeashHolder(null);
                     }
-                })
-                .filter(event ->
-                        event.getTarget() == this.creature && this.creature.isTamed() && event.getHand() == PlayerHand.MAIN)
-                .build();
+                }
+            }
+        }
+    }
+
+    /**
+     * Leash this creature to its partner and start breeding the two, counting down the partner's breeding time.
+     */
+    void breedWith(Creature partner) {
+        this.creature.setLeashHolder(partner);
+        BreedingScheduler.of(this.creature.getInstance()).schedule(this.creature, partner, () -> this.completeBreeding(partner));
+    }
+
+    /**
+     * Give birth to the offspring of this creature and its partner, then separate the two. Called by the
+     * {@link BreedingScheduler} once the partner's breeding time has elapsed.
+     */
+    private void completeBreeding(Creature partner) {
+        final CreatureBredEvent bred = new CreatureBredEvent();
+        bred.begin();
+        final Creature baby = Creature.tamed(this.creature, partner, Genetics.of(this.creature.getInstance()));
+        baby.setOwner(this.creature.getOwner());
+        baby.getAttribute(Attribute.SCALE).setBaseValue(0.1);
+        baby.setInstance(this.creature.getInstance(), this.creature.getPosition().withZ(z -> z - 2)).thenRun(() -> {
+            final CreatureStore store = CreatureStore.of(baby.getInstance());
+            if (store != null && baby.getOwner() != null) {
+                store.put(CreatureRecord.of(baby));
+            }
+        });
+        partner.setTag(Creature.BREEDING_TIME_REMAINING, partner.getBreedTime());
+        partner.setLeashHolder(null);
+        this.creature.setLeashHolder(null);
+        Metrics.BREEDINGS.increment();
+        bred.end();
+        if (bred.shouldCommit()) {
+            bred.species = baby.getSpecies().name();
+            bred.level = baby.getLevel();
+            bred.mutations = baby.getStats().totalMutations();
+            bred.commit();
+        }
+    }
+
+    /**
+     * Remove the creature from persistent storage, if it was stored at all.
+     */
+    private void forget() {
+        if (this.creature.getInstance() == null || this.creature.getOwner() == null) {
+            return;
+        }
+        final CreatureStore store = CreatureStore.of(this.creature.getInstance());
+        if (store != null) {
+            store.delete(this.creature.getUuid());
+        }
     }
 
     private void attachListeners() {
-        this.creature.getInstance().eventNode().addListener(this.tameListener);
-        this.creature.getInstance().eventNode().addListener(this.creatureInteractListener);
+        CreatureEventDispatcher.of(this.creature.getInstance()).attach(this.creature, this);
     }
 
     private void detachListeners() {
-        this.creature.getInstance().eventNode().removeListener(this.tameListener);
-        this.creature.getInstance().eventNode().removeListener(this.creatureInteractListener);
+        if (this.creature.getInstance() == null) {
+            return;
+        }
+        CreatureEventDispatcher.of(this.creature.getInstance()).detach(this.creature);
     }
 }
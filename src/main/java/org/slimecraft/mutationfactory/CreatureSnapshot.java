@@ -0,0 +1,65 @@
+package org.slimecraft.mutationfactory;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Objects;
+
+/**
+ * What a creature is made of, frozen at the time the snapshot was taken: its species, level, sex and stats.
+ * Two creatures with the same snapshot are genetically identical, whatever their identity. The hash is computed
+ * once, so snapshots are cheap keys for deduplication and caches.
+ */
+public final class CreatureSnapshot {
+    private final Species species;
+    private final int level;
+    private final boolean male;
+    private final StatBlock stats;
+    private final int hash;
+
+    private CreatureSnapshot(Species species, int level, boolean male, StatBlock stats) {
+        this.species = species;
+        this.level = level;
+        this.male = male;
+        this.stats = stats;
+        this.hash = Objects.hash(species, level, male, stats);
+    }
+
+    /**
+     * Take a snapshot of the creature; the stats are copied, so upgrading the creature afterwards
+     * does not change the snapshot.
+     */
+    public static CreatureSnapshot of(@NotNull Creature creature) {
+        return new CreatureSnapshot(creature.getSpecies(), creature.getLevel(), creature.isMale(), creature.getStats().copy());
+    }
+
+    public Species getSpecies() {
+        return this.species;
+    }
+
+    public int getLevel() {
+        return this.level;
+    }
+
+    public boolean isMale() {
+        return this.male;
+    }
+
+    /**
+     * Get a copy of the stats of the snapshot.
+     */
+    public StatBlock getStats() {
+        return this.stats.copy();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof final CreatureSnapshot snapshot)) return false;
+        return hash == snapshot.hash && level == snapshot.level && male == snapshot.male && species.equals(snapshot.species) && stats.equals(snapshot.stats);
+    }
+
+    @Override
+    public int hashCode() {
+        return this.hash;
+    }
+}
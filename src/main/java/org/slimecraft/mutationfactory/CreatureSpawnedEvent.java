@@ -0,0 +1,22 @@
+package org.slimecraft.mutationfactory;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Recorded by JFR when a {@link CreatureSpawner} spawns a wild creature.
+ */
+@Name("org.slimecraft.mutationfactory.CreatureSpawned")
+@Label("Creature Spawned")
+@Category("Mutation Factory")
+@Description("A wild creature was spawned")
+public final class CreatureSpawnedEvent extends Event {
+    @Label("Species")
+    public String species;
+
+    @Label("Level")
+    public int level;
+}
@@ -0,0 +1,254 @@
+package org.slimecraft.mutationfactory;
+
+import net.minestom.server.MinecraftServer;
+import net.minestom.server.ServerFlag;
+import net.minestom.server.coordinate.Point;
+import net.minestom.server.coordinate.Pos;
+import net.minestom.server.entity.Player;
+import net.minestom.server.instance.Chunk;
+import net.minestom.server.instance.Instance;
+import net.minestom.server.tag.Tag;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.random.RandomGenerator;
+
+/**
+ * Keeps the wild population of an {@link Instance} at a fixed density around its players. Exactly one spawner
+ * exists per instance; every cycle it despawns the wild creatures that wandered too far from every player, and
+ * tops up the chunks around players that are below {@link Config#MAX_WILD_PER_CHUNK} from their
+ * {@link SpawnTables spawn table}. The chunks needed for a cycle are loaded together before any creature is placed,
+ * and despawned creatures go back to the {@link CreaturePool} of the instance to be spawned again. The creatures a
+ * cycle queues for a chunk count towards it until they are in the population, so the next cycle does not top up a
+ * chunk that is still being filled.
+ */
+public class CreatureSpawner {
+    private static final Tag<@NotNull CreatureSpawner> SPAWNER_TAG = Tag.Transient("creature_spawner");
+    private static final int SPAWN_HEIGHT = 50;
+    private static final int GROUP_SPREAD = 2;
+
+    private final Instance instance;
+    private final RandomGenerator random;
+    private final Set<Creature> population;
+    private final Map<Long, Integer> reserved;
+    private volatile Map<String, Integer> populationPerSpecies;
+    private final LongAdder spawns;
+    private final LongAdder despawns;
+
+    private CreatureSpawner(Instance instance) {
+        this.instance = instance;
+        this.random = Rng.of(instance);
+        this.population = ConcurrentHashMap.newKeySet();
+        this.reserved = new ConcurrentHashMap<>();
+        this.populationPerSpecies = Map.of();
+        this.spawns = new LongAdder();
+        this.despawns = new LongAdder();
+        InstanceMailbox.of(instance).repeat(ServerFlag.SERVER_TICKS_PER_SECOND, this::cycle);
+    }
+
+    /**
+     * Get the spawner of the given instance, creating and starting it the first time
+     * the instance is asked for one.
+     */
+    public static CreatureSpawner of(@NotNull Instance instance) {
+        return InstanceServices.get(instance, SPAWNER_TAG, CreatureSpawner::new);
+    }
+
+    private void cycle() {
+        final Collection<Player> players = this.instance.getPlayers();
+        SpawnTables.reloadIfModified();
+        final Map<Long, Integer> populationPerChunk = this.prunePopulation(players);
+        this.reserved.forEach((index, count) -> populationPerChunk.merge(index, count, Integer::sum));
+        if (players.isEmpty()) {
+            return;
+        }
+
+        final List<Long> candidates = new ArrayList<>();
+        final Set<Long> visited = new HashSet<>();
+        for (final Player player : players) {
+            final int centerX = player.getPosition().chunkX();
+            final int centerZ = player.getPosition().chunkZ();
+            for (int x = centerX - Config.SPAWN_RADIUS_CHUNKS; x <= centerX + Config.SPAWN_RADIUS_CHUNKS; x++) {
+                for (int z = centerZ - Config.SPAWN_RADIUS_CHUNKS; z <= centerZ + Config.SPAWN_RADIUS_CHUNKS; z++) {
+                    final long index = chunkIndex(x, z);
+                    if (visited.add(index) && populationPerChunk.getOrDefault(index, 0) < Config.MAX_WILD_PER_CHUNK) {
+                        candidates.add(index);
+                    }
+                }
+            }
+        }
+        if (candidates.isEmpty()) {
+            return;
+        }
+        Collections.shuffle(candidates, this.random);
+
+        final List<ChunkBatch> batches = new ArrayList<>();
+        int budget = Config.MAX_SPAWNS_PER_CYCLE;
+        for (int i = 0; i < candidates.size() && budget > 0; i++) {
+            final long index = candidates.get(i);
+            final int missing = Math.min(budget, Config.MAX_WILD_PER_CHUNK - populationPerChunk.getOrDefault(index, 0));
+            batches.add(new ChunkBatch((int) (index >> 32), (int) index, missing));
+            this.reserved.merge(index, missing, Integer::sum);
+            budget -= missing;
+        }
+        this.spawnBatches(batches);
+    }
+
+    /**
+     * Drop the creatures that no longer belong to the wild population, despawn the ones too far from every
+     * player and count the rest per chunk and per species.
+     */
+    private Map<Long, Integer> prunePopulation(Collection<Player> players) {
+        final Map<Long, Integer> populationPerChunk = new HashMap<>();
+        final Map<String, Integer> populationPerSpecies = new HashMap<>();
+        final double despawnDistanceSquared = Config.DESPAWN_DISTANCE * Config.DESPAWN_DISTANCE;
+        final Iterator<Creature> iterator = this.population.iterator();
+        while (iterator.hasNext()) {
+            final Creature creature = iterator.next();
+            if (creature.isRemoved() || creature.isTamed()) {
+                iterator.remove();
+                continue;
+            }
+            final Pos position = creature.getPosition();
+            if (!isNearAny(position, players, despawnDistanceSquared)) {
+                iterator.remove();
+                CreaturePool.of(this.instance).release(creature);
+                this.despawns.increment();
+                continue;
+            }
+            populationPerChunk.merge(chunkIndex(position.chunkX(), position.chunkZ()), 1, Integer::sum);
+            populationPerSpecies.merge(creature.getSpecies().name(), 1, Integer::sum);
+        }
+        this.populationPerSpecies = Map.copyOf(populationPerSpecies);
+        return populationPerChunk;
+    }
+
+    /**
+     * Load the chunks of every batch, then fill each chunk from its spawn table once all of them are ready. The loads
+     * complete on whichever thread loaded the last chunk, so the batches are filled back on the mailbox of the
+     * instance, the only thread drawing from the random generator and the pool of the spawner. If a chunk fails to
+     * load, none of the batches is filled and their reservations are given back.
+     */
+    private void spawnBatches(List<ChunkBatch> batches) {
+        final CompletableFuture<?>[] loads = new CompletableFuture<?>[batches.size()];
+        for (int i = 0; i < batches.size(); i++) {
+            loads[i] = this.instance.loadChunk(batches.get(i).chunkX(), batches.get(i).chunkZ());
+        }
+        CompletableFuture.allOf(loads).whenComplete((ignored, error) -> {
+            if (error != null) {
+                batches.forEach(this::unreserve);
+                MinecraftServer.getExceptionManager().handleException(error);
+                return;
+            }
+            InstanceMailbox.of(this.instance).post(() -> this.fillBatches(batches));
+        });
+    }
+
+    /**
+     * Fill the chunk of every batch from its spawn table. The table of a chunk is resolved once for the whole chunk,
+     * and every pick spawns a group of the picked species around a random position of the chunk.
+     */
+    private void fillBatches(List<ChunkBatch> batches) {
+        final SpawnTables tables = SpawnTables.current();
+        for (final ChunkBatch batch : batches) {
+            final List<CompletableFuture<?>> spawns = new ArrayList<>(batch.count());
+            try {
+                this.fillBatch(tables, batch, spawns);
+            } finally {
+                // The reservation stands until every creature of the batch is counted in the population.
+                CompletableFuture.allOf(spawns.toArray(CompletableFuture<?>[]::new))
+                        .whenComplete((ignored, error) -> this.unreserve(batch));
+            }
+        }
+    }
+
+    private void fillBatch(SpawnTables tables, ChunkBatch batch, List<CompletableFuture<?>> spawns) {
+        final SpawnTable table = tables.resolve(this.instance, batch.chunkX(), batch.chunkZ());
+        int remaining = batch.count();
+        while (remaining > 0) {
+            final SpawnTable.Entry entry = table.sample(this.random);
+            final int group = Math.min(remaining, entry.rollGroupSize(this.random));
+            final int minX = batch.chunkX() * Chunk.CHUNK_SIZE_X;
+            final int minZ = batch.chunkZ() * Chunk.CHUNK_SIZE_Z;
+            final int anchorX = minX + this.random.nextInt(Chunk.CHUNK_SIZE_X);
+            final int anchorZ = minZ + this.random.nextInt(Chunk.CHUNK_SIZE_Z);
+            for (int member = 0; member < group; member++) {
+                // Members stay in the anchor chunk, the only one counted and loaded for this batch.
+                final Pos position = new Pos(
+                        clamp(anchorX + this.random.nextInt(-GROUP_SPREAD, GROUP_SPREAD + 1), minX, minX + Chunk.CHUNK_SIZE_X - 1),
+                        SPAWN_HEIGHT,
+                        clamp(anchorZ + this.random.nextInt(-GROUP_SPREAD, GROUP_SPREAD + 1), minZ, minZ + Chunk.CHUNK_SIZE_Z - 1));
+                spawns.add(this.spawn(entry.template(), entry.rollLevel(this.random), position));
+            }
+            remaining -= Math.max(1, group);
+        }
+    }
+
+    /**
+     * Give back the slots reserved for the batch in its chunk.
+     */
+    private void unreserve(ChunkBatch batch) {
+        this.reserved.computeIfPresent(chunkIndex(batch.chunkX(), batch.chunkZ()),
+                (index, count) -> count > batch.count() ? count - batch.count() : null);
+    }
+
+    private CompletableFuture<Void> spawn(SpeciesTemplate template, int level, Pos position) {
+        return CreaturePool.of(this.instance).acquire(template, level, position).thenAccept(creature -> {
+            this.population.add(creature);
+            this.spawns.increment();
+            Metrics.SPAWNS.increment();
+            final CreatureSpawnedEvent spawned = new CreatureSpawnedEvent();
+            if (spawned.shouldCommit()) {
+                spawned.species = template.species().name();
+                spawned.level = level;
+                spawned.commit();
+            }
+        });
+    }
+
+    private static boolean isNearAny(Point position, Collection<Player> players, double distanceSquared) {
+        for (final Player player : players) {
+            if (player.getPosition().distanceSquared(position) <= distanceSquared) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int clamp(int value, int min, int max) {
+        return Math.max(min, Math.min(max, value));
+    }
+
+    private static long chunkIndex(int chunkX, int chunkZ) {
+        return ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+    }
+
+    public long getSpawns() {
+        return this.spawns.sum();
+    }
+
+    public long getDespawns() {
+        return this.despawns.sum();
+    }
+
+    public int getPopulation() {
+        return this.population.size();
+    }
+
+    /**
+     * Get the wild population per species name, as counted during the last cycle. The map is immutable and replaced
+     * by the next cycle, so it is safe to read from any thread.
+     */
+    public Map<String, Integer> getPopulationPerSpecies() {
+        return this.populationPerSpecies;
+    }
+
+    /**
+     * The amount of creatures to spawn in a chunk during a cycle.
+     */
+    private record ChunkBatch(int chunkX, int chunkZ, int count) {
+    }
+}
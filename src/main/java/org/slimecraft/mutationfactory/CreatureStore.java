@@ -0,0 +1,328 @@
+package org.slimecraft.mutationfactory;
+
+import net.minestom.server.MinecraftServer;
+import net.minestom.server.instance.Instance;
+import net.minestom.server.tag.Tag;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * A file-backed store of tamed creatures, keyed by creature UUID and owner UUID. Records are appended to a single
+ * log file; only the offset of the latest entry of each creature is kept in memory, the records themselves are read
+ * back from disk when an owner's creatures are requested. Writes are coalesced per creature and flushed in batches
+ * by a dedicated thread, so the tick thread never touches the disk. The log is rewritten without its dead entries
+ * once they make up most of it.
+ */
+public class CreatureStore implements AutoCloseable {
+    private static final Tag<@NotNull CreatureStore> STORE_TAG = Tag.Transient("creature_store");
+    private static final String LOG_NAME = "creatures.log";
+    private static final String COMPACTION_NAME = "creatures.log.compacting";
+    private static final byte PUT = 1;
+    private static final byte DELETE = 2;
+    private static final int HEADER_BYTES = Byte.BYTES + 4 * Long.BYTES;
+    private static final long COMPACTION_THRESHOLD = 16 * 1024 * 1024;
+
+    private final Path directory;
+    private final Map<UUID, Entry> entries;
+    private final Map<UUID, Set<UUID>> creaturesByOwner;
+    private final Map<UUID, PendingWrite> pending;
+    private final ScheduledExecutorService writer;
+    private FileChannel channel;
+    private long liveBytes;
+    private volatile int stored;
+
+    private CreatureStore(Path directory) throws IOException {
+        this.directory = directory;
+        this.entries = new HashMap<>();
+        this.creaturesByOwner = new HashMap<>();
+        this.pending = new ConcurrentHashMap<>();
+        Files.createDirectories(directory);
+        this.channel = FileChannel.open(directory.resolve(LOG_NAME), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.index();
+        this.writer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "creature-store-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.writer.scheduleWithFixedDelay(this::flushPending, 1, 1, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Open the store kept in the given directory, creating the directory if it does not exist yet.
+     */
+    public static CreatureStore open(@NotNull Path directory) throws IOException {
+        return new CreatureStore(directory);
+    }
+
+    /**
+     * Make the store available to everything living in the given instance through {@link #of(Instance)}.
+     */
+    public static void install(@NotNull Instance instance, @NotNull CreatureStore store) {
+        instance.setTag(STORE_TAG, store);
+    }
+
+    /**
+     * Get the store installed in the given instance, or null if creatures of this instance are not persisted.
+     */
+    public static @Nullable CreatureStore of(@NotNull Instance instance) {
+        return instance.getTag(STORE_TAG);
+    }
+
+    /**
+     * Queue the record to be written. The record must belong to an owned creature; a later put or delete of the
+     * same creature before the next flush replaces this one.
+     */
+    public void put(@NotNull CreatureRecord record) {
+        if (record.uuid() == null || record.owner() == null) {
+            throw new IllegalArgumentException("Only owned creatures with a UUID can be stored");
+        }
+        this.pending.put(record.uuid(), new PendingWrite(record.uuid(), record));
+    }
+
+    public void delete(@NotNull UUID creature) {
+        this.pending.put(creature, new PendingWrite(creature, null));
+    }
+
+    /**
+     * Read every creature of the given owner from disk, off the calling thread.
+     */
+    public CompletableFuture<List<CreatureRecord>> loadOwned(@NotNull UUID owner) {
+        return CompletableFuture.supplyAsync(() -> {
+            this.flushPending();
+            final Set<UUID> owned = this.creaturesByOwner.getOrDefault(owner, Collections.emptySet());
+            final List<CreatureRecord> records = new ArrayList<>(owned.size());
+            for (final UUID creature : owned) {
+                records.add(CreatureRecord.decode(this.readPayload(this.entries.get(creature).offset())));
+            }
+            return records;
+        }, this.writer);
+    }
+
+    /**
+     * Write everything queued so far, returning once it reached the disk.
+     */
+    public CompletableFuture<Void> flush() {
+        return CompletableFuture.runAsync(this::flushPending, this.writer);
+    }
+
+    @Override
+    public void close() {
+        this.flush().join();
+        this.writer.shutdown();
+        try {
+            this.channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Rebuild the in-memory index by walking the entry headers of the log. A torn entry at the end of the
+     * log, left behind by a crash during a write, is cut off.
+     */
+    private void index() throws IOException {
+        final ByteBuffer header = ByteBuffer.allocate(Integer.BYTES + HEADER_BYTES);
+        final long size = this.channel.size();
+        long position = 0;
+        while (position + header.capacity() <= size) {
+            header.clear();
+            this.channel.read(header, position);
+            header.flip();
+            final int length = header.getInt();
+            if (length < HEADER_BYTES || position + Integer.BYTES + length > size) {
+                break;
+            }
+            final byte operation = header.get();
+            final UUID creature = new UUID(header.getLong(), header.getLong());
+            final UUID owner = new UUID(header.getLong(), header.getLong());
+            this.apply(operation, creature, owner, position, Integer.BYTES + length);
+            position += Integer.BYTES + length;
+        }
+        if (position < size) {
+            this.channel.truncate(position);
+        }
+    }
+
+    private void apply(byte operation, UUID creature, UUID owner, long offset, int entryBytes) {
+        final Entry previous = this.entries.remove(creature);
+        if (previous != null) {
+            this.liveBytes -= previous.bytes();
+            final Set<UUID> owned = this.creaturesByOwner.get(previous.owner());
+            owned.remove(creature);
+            if (owned.isEmpty()) {
+                this.creaturesByOwner.remove(previous.owner());
+            }
+        }
+        if (operation != PUT) {
+            this.stored = this.entries.size();
+            return;
+        }
+        this.entries.put(creature, new Entry(owner, offset, entryBytes));
+        this.creaturesByOwner.computeIfAbsent(owner, key -> new HashSet<>()).add(creature);
+        this.liveBytes += entryBytes;
+        this.stored = this.entries.size();
+    }
+
+    /**
+     * Write everything queued so far. A failed write is reported and queued again, unless the creature was written
+     * again in the meantime, so the next flush retries it; the periodic flush task itself never fails.
+     */
+    private void flushPending() {
+        if (this.pending.isEmpty()) {
+            return;
+        }
+        final List<PendingWrite> writes = new ArrayList<>(this.pending.size());
+        for (final UUID creature : this.pending.keySet()) {
+            final PendingWrite write = this.pending.remove(creature);
+            if (write != null) {
+                writes.add(write);
+            }
+        }
+        try {
+            this.append(writes);
+        } catch (IOException | RuntimeException e) {
+            for (final PendingWrite write : writes) {
+                this.pending.putIfAbsent(write.creature(), write);
+            }
+            MinecraftServer.getExceptionManager().handleException(e);
+            return;
+        }
+        try {
+            this.compactIfNeeded();
+        } catch (IOException | RuntimeException e) {
+            MinecraftServer.getExceptionManager().handleException(e);
+        }
+    }
+
+    /**
+     * Append the writes to the log, updating the index only once all of them reached the disk.
+     */
+    private void append(List<PendingWrite> writes) throws IOException {
+        final List<byte[]> payloads = new ArrayList<>(writes.size());
+        int size = 0;
+        for (final PendingWrite write : writes) {
+            final byte[] payload = write.record() == null ? new byte[0] : write.record().encode();
+            payloads.add(payload);
+            size += Integer.BYTES + HEADER_BYTES + payload.length;
+        }
+        final ByteBuffer buffer = ByteBuffer.allocate(size);
+        final long start = this.channel.size();
+        final UUID[] owners = new UUID[writes.size()];
+        for (int i = 0; i < writes.size(); i++) {
+            final PendingWrite write = writes.get(i);
+            final byte[] payload = payloads.get(i);
+            final Entry previous = this.entries.get(write.creature());
+            final UUID owner = write.record() != null
+                    ? write.record().owner()
+                    : previous != null ? previous.owner() : new UUID(0, 0);
+            final byte operation = write.record() == null ? DELETE : PUT;
+            buffer.putInt(HEADER_BYTES + payload.length);
+            buffer.put(operation);
+            buffer.putLong(write.creature().getMostSignificantBits());
+            buffer.putLong(write.creature().getLeastSignificantBits());
+            buffer.putLong(owner.getMostSignificantBits());
+            buffer.putLong(owner.getLeastSignificantBits());
+            buffer.put(payload);
+            owners[i] = owner;
+        }
+        buffer.flip();
+        long position = start;
+        try {
+            while (buffer.hasRemaining()) {
+                position += this.channel.write(buffer, position);
+            }
+            this.channel.force(false);
+        } catch (IOException e) {
+            this.channel.truncate(start);
+            throw e;
+        }
+        long offset = start;
+        for (int i = 0; i < writes.size(); i++) {
+            final PendingWrite write = writes.get(i);
+            final int entryBytes = Integer.BYTES + HEADER_BYTES + payloads.get(i).length;
+            this.apply(write.record() == null ? DELETE : PUT, write.creature(), owners[i], offset, entryBytes);
+            offset += entryBytes;
+        }
+    }
+
+    private byte[] readPayload(long offset) {
+        try {
+            final ByteBuffer length = ByteBuffer.allocate(Integer.BYTES);
+            this.channel.read(length, offset);
+            length.flip();
+            final ByteBuffer payload = ByteBuffer.allocate(length.getInt() - HEADER_BYTES);
+            long position = offset + Integer.BYTES + HEADER_BYTES;
+            while (payload.hasRemaining()) {
+                position += this.channel.read(payload, position);
+            }
+            return payload.array();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Rewrite the log with only the latest entry of every stored creature once the log is large
+     * and mostly made of overwritten or deleted entries. The log is closed while the rewrite replaces it, as some
+     * platforms refuse to replace an open file, and reopened whether or not the replacement succeeded; a file system
+     * that cannot move atomically gets a plain replacement instead.
+     */
+    private void compactIfNeeded() throws IOException {
+        final long size = this.channel.size();
+        if (size < COMPACTION_THRESHOLD || this.liveBytes * 2 > size) {
+            return;
+        }
+        final Path compacting = this.directory.resolve(COMPACTION_NAME);
+        try (final FileChannel target = FileChannel.open(compacting, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            for (final Entry entry : this.entries.values()) {
+                long transferred = 0;
+                while (transferred < entry.bytes()) {
+                    transferred += this.channel.transferTo(entry.offset() + transferred, entry.bytes() - transferred, target);
+                }
+            }
+            target.force(true);
+        }
+        final Path log = this.directory.resolve(LOG_NAME);
+        this.channel.close();
+        try {
+            try {
+                Files.move(compacting, log, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(compacting, log, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            this.channel = FileChannel.open(log, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        }
+        this.entries.clear();
+        this.creaturesByOwner.clear();
+        this.liveBytes = 0;
+        this.index();
+        this.stored = this.entries.size();
+    }
+
+    /**
+     * Get the amount of creatures currently stored, not counting writes that are still queued. Safe to call from
+     * any thread.
+     */
+    public int size() {
+        return this.stored;
+    }
+
+    private record PendingWrite(UUID creature, @Nullable CreatureRecord record) {
+    }
+
+    private record Entry(UUID owner, long offset, int bytes) {
+    }
+}
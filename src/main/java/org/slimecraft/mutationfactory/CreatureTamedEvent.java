@@ -0,0 +1,25 @@
+package org.slimecraft.mutationfactory;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Recorded by JFR when a player tames a wild creature.
+ */
+@Name("org.slimecraft.mutationfactory.CreatureTamed")
+@Label("Creature Tamed")
+@Category("Mutation Factory")
+@Description("A wild creature was tamed by a player")
+public final class CreatureTamedEvent extends Event {
+    @Label("Species")
+    public String species;
+
+    @Label("Level")
+    public int level;
+
+    @Label("Player")
+    public String player;
+}
@@ -0,0 +1,55 @@
+package org.slimecraft.mutationfactory;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Properties;
+
+/**
+ * Reads the data files describing the game, such as the species and the spawn tables. Every data file is bundled
+ * with the server; a file with the same name in the working directory takes precedence over the bundled one.
+ */
+public final class DataFiles {
+    private DataFiles() {
+    }
+
+    /**
+     * Get the path a data file with the given name overrides the bundled one from; the file may not exist.
+     */
+    public static Path override(@NotNull String name) {
+        return Path.of(name);
+    }
+
+    /**
+     * Read the data file with the given name, preferring the override in the working directory.
+     *
+     * @throws IllegalStateException if neither the override nor the bundled file exist
+     */
+    public static Properties read(@NotNull String name) {
+        final Properties properties = new Properties();
+        final Path override = override(name);
+        try {
+            if (Files.isRegularFile(override)) {
+                try (final Reader reader = Files.newBufferedReader(override, StandardCharsets.UTF_8)) {
+                    properties.load(reader);
+                }
+                return properties;
+            }
+            try (final InputStream stream = DataFiles.class.getClassLoader().getResourceAsStream(name)) {
+                if (stream == null) {
+                    throw new IllegalStateException("Missing bundled data file " + name);
+                }
+                properties.load(stream);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return properties;
+    }
+}
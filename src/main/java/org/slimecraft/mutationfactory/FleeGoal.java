@@ -0,0 +1,73 @@
+package org.slimecraft.mutationfactory;
+
+import net.minestom.server.coordinate.Pos;
+import net.minestom.server.coordinate.Vec;
+import net.minestom.server.entity.Entity;
+import net.minestom.server.entity.ai.GoalSelector;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Runs away from the closest player or creature the creature's species flees from according to the
+ * {@link SpeciesRelations}, until the threat is left well behind.
+ */
+public class FleeGoal extends GoalSelector {
+    public static final double RANGE = 8;
+    private static final int REPATH_TICKS = 20;
+
+    private final Creature creature;
+    private final double range;
+    private final ClosestCreatureTarget threats;
+    private Entity threat;
+    private int ticks;
+
+    public FleeGoal(@NotNull Creature creature, double range) {
+        super(creature);
+        this.creature = creature;
+        this.range = range;
+        final SpeciesRelations relations = CreatureRegistry.relations();
+        this.threats = new ClosestCreatureTarget(creature, range, entity ->
+                relations.test(SpeciesRelations.Relation.FLEES, creature.getSpecies(), entity));
+    }
+
+    @Override
+    public boolean shouldStart() {
+        this.threat = this.threats.findTarget();
+        return this.threat != null;
+    }
+
+    @Override
+    public void start() {
+        this.ticks = 0;
+        this.runAway();
+    }
+
+    @Override
+    public void tick(long time) {
+        if (++this.ticks % REPATH_TICKS == 0) {
+            this.runAway();
+        }
+    }
+
+    @Override
+    public boolean shouldEnd() {
+        final double escape = this.range * 1.5;
+        return this.threat == null || this.threat.isRemoved() || this.threat.getInstance() != this.creature.getInstance()
+                || this.threat.getPosition().distanceSquared(this.creature.getPosition()) > escape * escape;
+    }
+
+    @Override
+    public void end() {
+        this.threat = null;
+        this.creature.getNavigator().setPathTo(null);
+    }
+
+    /**
+     * Path to a point straight away from the threat, as far from it as the flee range.
+     */
+    private void runAway() {
+        final Pos position = this.creature.getPosition();
+        final Vec away = Vec.fromPoint(position.sub(this.threat.getPosition())).withY(0);
+        final Vec direction = away.isZero() ? new Vec(1, 0, 0) : away.normalize();
+        this.creature.getNavigator().setPathTo(position.add(direction.mul(this.range)));
+    }
+}
@@ -0,0 +1,95 @@
+package org.slimecraft.mutationfactory;
+
+import net.minestom.server.instance.Instance;
+import net.minestom.server.tag.Tag;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
+/**
+ * Decides what the offspring of two creatures is made of. Every stat is inherited whole from one of the parents,
+ * the parent with the most points in it being favored by {@link Config#INHERIT_HIGHER_CHANCE}; a few rolls of
+ * {@link Config#MUTATION_CHANCE} then each grant a random stat {@link Config#MUTATION_POINTS} extra points, as long
+ * as the parents' lineage stayed under {@link Config#MUTATION_CAP} mutations.
+ * <p>
+ * All randomness comes from the generator given to the engine, so an engine built from a seed breeds the same
+ * offspring from the same parents every time. Offspring stats are written into blocks supplied by the caller, so
+ * large batches of pairings can be evaluated without allocating.
+ */
+public final class Genetics {
+    private static final Tag<@NotNull Genetics> GENETICS_TAG = Tag.Transient("genetics");
+
+    private final RandomGenerator random;
+
+    public Genetics(@NotNull RandomGenerator random) {
+        this.random = random;
+    }
+
+    /**
+     * Construct an engine whose results only depend on the given seed.
+     */
+    public static Genetics seeded(long seed) {
+        return new Genetics(new SplittableRandom(seed));
+    }
+
+    /**
+     * Get the engine breeding the creatures of the given instance, creating it the first time
+     * the instance is asked for one.
+     */
+    public static Genetics of(@NotNull Instance instance) {
+        return InstanceServices.get(instance, GENETICS_TAG, key -> new Genetics(Rng.of(key)));
+    }
+
+    /**
+     * Write the stats of the offspring of the two parents into the given block. All three blocks must have
+     * the same layout; the offspring block may not be one of the parents.
+     */
+    public void inherit(@NotNull StatBlock first, @NotNull StatBlock second, @NotNull StatBlock offspring) {
+        if (first.size() != second.size() || first.size() != offspring.size()) {
+            throw new IllegalArgumentException("Parents and offspring must have the same stats");
+        }
+        for (int stat = 0; stat < offspring.size(); stat++) {
+            final boolean firstIsHigher = first.getPoints(stat) >= second.getPoints(stat);
+            final boolean takeHigher = this.random.nextDouble() < Config.INHERIT_HIGHER_CHANCE;
+            offspring.inherit(stat, firstIsHigher == takeHigher ? first : second);
+        }
+        if (first.totalMutations() >= Config.MUTATION_CAP || second.totalMutations() >= Config.MUTATION_CAP) {
+            return;
+        }
+        for (int roll = 0; roll < Config.MUTATION_ROLLS; roll++) {
+            if (this.random.nextDouble() < Config.MUTATION_CHANCE) {
+                offspring.mutate(this.random.nextInt(offspring.size()), Config.MUTATION_POINTS);
+            }
+        }
+    }
+
+    /**
+     * Breed every pair of parents at the same index of the two arrays, writing the offspring of each pair into
+     * the block at that index of the offspring array.
+     */
+    public void inheritAll(@NotNull StatBlock[] first, @NotNull StatBlock[] second, @NotNull StatBlock[] offspring) {
+        if (first.length != second.length || first.length != offspring.length) {
+            throw new IllegalArgumentException("Every pairing needs two parents and an offspring");
+        }
+        for (int i = 0; i < offspring.length; i++) {
+            this.inherit(first[i], second[i], offspring[i]);
+        }
+    }
+
+    /**
+     * Get the level of the offspring of parents of the given levels. Young lineages gain a few levels per
+     * generation, while high level ones only drift around the average of the parents.
+     */
+    public int level(int first, int second) {
+        final double average = (first + second) / 2.0;
+        if (first < 100 || second < 100) {
+            return (int) Math.round(average + 5);
+        }
+        return (int) Math.round(average * this.random.nextDouble(0.95, 1.05));
+    }
+
+    public boolean male() {
+        return this.random.nextBoolean();
+    }
+}
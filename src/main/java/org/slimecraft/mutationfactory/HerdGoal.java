@@ -0,0 +1,78 @@
+package org.slimecraft.mutationfactory;
+
+import net.minestom.server.coordinate.Pos;
+import net.minestom.server.coordinate.Vec;
+import net.minestom.server.entity.ai.GoalSelector;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Keeps the creature close to the creatures its species herds with according to the {@link SpeciesRelations}: when it
+ * strays from the middle of the herd mates around it, it walks back towards them. The herd is only looked for every
+ * {@link #CHECK_TICKS} ticks.
+ */
+public class HerdGoal extends GoalSelector {
+    public static final double RANGE = 16;
+    private static final double SPACING = 6;
+    private static final int CHECK_TICKS = 40;
+    private static final int MAX_TICKS = 100;
+
+    private final Creature creature;
+    private final double range;
+    private Pos center;
+    private int cooldown;
+    private int ticks;
+
+    public HerdGoal(@NotNull Creature creature, double range) {
+        super(creature);
+        this.creature = creature;
+        this.range = range;
+        this.cooldown = Math.floorMod(creature.getEntityId(), CHECK_TICKS);
+    }
+
+    @Override
+    public boolean shouldStart() {
+        if (--this.cooldown > 0 || this.creature.getInstance() == null) {
+            return false;
+        }
+        this.cooldown = CHECK_TICKS;
+        final SpeciesRelations relations = CreatureRegistry.relations();
+        final double[] sum = new double[3];
+        final int[] count = new int[1];
+        CreatureGrid.of(this.creature.getInstance()).forEachInRadius(this.creature.getPosition(), this.range, mate -> {
+            if (mate != this.creature && relations.test(SpeciesRelations.Relation.HERDS, this.creature.getSpecies(), mate)) {
+                sum[0] += mate.getPosition().x();
+                sum[1] += mate.getPosition().y();
+                sum[2] += mate.getPosition().z();
+                count[0]++;
+            }
+        });
+        if (count[0] == 0) {
+            return false;
+        }
+        this.center = new Pos(sum[0] / count[0], sum[1] / count[0], sum[2] / count[0]);
+        return this.center.distanceSquared(this.creature.getPosition()) > SPACING * SPACING;
+    }
+
+    @Override
+    public void start() {
+        this.ticks = 0;
+        final Vec towards = Vec.fromPoint(this.center.sub(this.creature.getPosition()));
+        this.creature.getNavigator().setPathTo(this.center.sub(towards.normalize().mul(SPACING / 2)));
+    }
+
+    @Override
+    public void tick(long time) {
+        this.ticks++;
+    }
+
+    @Override
+    public boolean shouldEnd() {
+        return this.ticks >= MAX_TICKS || this.center.distanceSquared(this.creature.getPosition()) <= SPACING * SPACING;
+    }
+
+    @Override
+    public void end() {
+        this.center = null;
+        this.creature.getNavigator().setPathTo(null);
+    }
+}
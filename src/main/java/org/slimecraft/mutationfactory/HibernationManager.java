@@ -0,0 +1,241 @@
+package org.slimecraft.mutationfactory;
+
+import net.minestom.server.ServerFlag;
+import net.minestom.server.coordinate.Pos;
+import net.minestom.server.entity.Entity;
+import net.minestom.server.entity.Player;
+import net.minestom.server.instance.Instance;
+import net.minestom.server.tag.Tag;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BiFunction;
+
+/**
+ * Puts the tamed creatures of an {@link Instance} to sleep while nobody is around. A creature that had no viewer,
+ * no player within {@link Config#HIBERNATION_WAKE_RADIUS_CHUNKS} chunks and nothing to do for
+ * {@link Config#HIBERNATE_AFTER_TICKS} ticks is removed and kept as a {@link CreatureRecord} in an index keyed by
+ * chunk, so it costs neither tick time nor entity memory. Once a player comes within the wake radius of its chunk,
+ * the creature is rebuilt from its record and placed back where it was.
+ * <p>
+ * Timers are not kept running while a creature sleeps; a breeding pair goes to sleep together and, on waking,
+ * takes off the time it slept from its breeding time before it resumes, so offspring that came due in the
+ * meantime are born right away. The state of the manager is only touched by its task, which runs in the
+ * {@link InstanceMailbox} of the instance while no chunk is being ticked.
+ */
+public class HibernationManager {
+    private static final Tag<@NotNull HibernationManager> MANAGER_TAG = Tag.Transient("hibernation_manager");
+
+    private final Instance instance;
+    private final BiFunction<Creature, Pos, CompletableFuture<Void>> placer;
+    private final Map<Creature, Long> idleSince;
+    private final Map<Long, List<Sleeper>> sleepersByChunk;
+    private final Map<UUID, Sleeper> sleepers;
+    private long tick;
+    private long hibernated;
+    private long woken;
+
+    private HibernationManager(Instance instance, BiFunction<Creature, Pos, CompletableFuture<Void>> placer) {
+        this.instance = instance;
+        this.placer = placer;
+        this.idleSince = new HashMap<>();
+        this.sleepersByChunk = new HashMap<>();
+        this.sleepers = new HashMap<>();
+        InstanceMailbox.of(instance).repeat(Config.HIBERNATION_SCAN_INTERVAL, this::scan);
+    }
+
+    /**
+     * Start hibernating the tamed creatures of the given instance. Woken creatures are handed to the placer, which
+     * puts them back into the instance at the given position the same way they were placed in the first place.
+     */
+    public static HibernationManager install(@NotNull Instance instance, @NotNull BiFunction<Creature, Pos, CompletableFuture<Void>> placer) {
+        return InstanceServices.get(instance, MANAGER_TAG, ignored -> new HibernationManager(instance, placer));
+    }
+
+    /**
+     * Get the hibernation manager installed in the given instance, or null if its creatures never hibernate.
+     */
+    public static @Nullable HibernationManager of(@NotNull Instance instance) {
+        return instance.getTag(MANAGER_TAG);
+    }
+
+    /**
+     * Wake the creatures players came close to, then put the ones that stayed idle for long enough to sleep.
+     */
+    private void scan() {
+        this.tick += Config.HIBERNATION_SCAN_INTERVAL;
+        final Collection<Player> players = this.instance.getPlayers();
+        if (!this.sleepers.isEmpty()) {
+            this.wakeAround(players);
+        }
+
+        this.idleSince.keySet().removeIf(Entity::isRemoved);
+        final BreedingScheduler breeding = BreedingScheduler.of(this.instance);
+        final List<Creature> drowsy = new ArrayList<>();
+        for (final Creature creature : CreatureRoster.byInstance(this.instance)) {
+            if (!this.isIdle(creature, players)) {
+                this.idleSince.remove(creature);
+                continue;
+            }
+            final long since = this.idleSince.computeIfAbsent(creature, ignored -> this.tick);
+            if (this.tick - since >= Config.HIBERNATE_AFTER_TICKS) {
+                drowsy.add(creature);
+            }
+        }
+        for (final Creature creature : drowsy) {
+            if (creature.isRemoved()) {
+                continue;
+            }
+            final Creature partner = breeding.partnerOf(creature);
+            if (partner == null) {
+                this.hibernate(creature, null, false);
+            } else if (this.tick - this.idleSince.getOrDefault(partner, this.tick) >= Config.HIBERNATE_AFTER_TICKS) {
+                final boolean timer = breeding.timerOf(creature) == creature;
+                this.hibernate(creature, partner.getUuid(), timer);
+                this.hibernate(partner, creature.getUuid(), !timer);
+            }
+        }
+    }
+
+    /**
+     * Check whether nothing needs the creature right now: nobody sees it, no player is close enough to see it soon,
+     * and it is neither fighting nor held by anything but its breeding partner.
+     */
+    private boolean isIdle(Creature creature, Collection<Player> players) {
+        if (creature.isRemoved() || creature.isParked() || !creature.isTamed() || !creature.getViewers().isEmpty()) {
+            return false;
+        }
+        if (creature.getTarget() != null || (creature.getLeashHolder() != null && !(creature.getLeashHolder() instanceof Creature))) {
+            return false;
+        }
+        final Pos position = creature.getPosition();
+        for (final Player player : players) {
+            if (isWithinWakeRadius(player.getPosition(), position.chunkX(), position.chunkZ())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Replace the creature with its record, persisting the record so the creature outlives a restart as it is now.
+     */
+    private void hibernate(Creature creature, @Nullable UUID partner, boolean timer) {
+        final CreatureRecord record = CreatureRecord.of(creature);
+        final Sleeper sleeper = new Sleeper(record, this.tick, partner, timer);
+        this.sleepers.put(creature.getUuid(), sleeper);
+        this.sleepersByChunk.computeIfAbsent(sleeper.chunk(), ignored -> new ArrayList<>()).add(sleeper);
+        final CreatureStore store = CreatureStore.of(this.instance);
+        if (store != null) {
+            store.put(record);
+        }
+        this.idleSince.remove(creature);
+        creature.remove();
+        this.hibernated++;
+    }
+
+    /**
+     * Wake every sleeper lying in a chunk within the wake radius of a player, along with its breeding partner.
+     */
+    private void wakeAround(Collection<Player> players) {
+        final int radius = Config.HIBERNATION_WAKE_RADIUS_CHUNKS;
+        for (final Player player : players) {
+            final int chunkX = player.getPosition().chunkX();
+            final int chunkZ = player.getPosition().chunkZ();
+            for (int x = chunkX - radius; x <= chunkX + radius; x++) {
+                for (int z = chunkZ - radius; z <= chunkZ + radius; z++) {
+                    final List<Sleeper> chunkSleepers = this.sleepersByChunk.remove(chunkIndex(x, z));
+                    if (chunkSleepers == null) {
+                        continue;
+                    }
+                    for (final Sleeper sleeper : chunkSleepers) {
+                        this.wake(sleeper);
+                    }
+                }
+            }
+        }
+    }
+
+    private void wake(Sleeper sleeper) {
+        if (this.sleepers.remove(sleeper.record().uuid()) == null) {
+            return;
+        }
+        final Creature creature = this.rebuild(sleeper);
+        final CompletableFuture<Void> placed = this.placer.apply(creature, sleeper.record().position());
+        this.woken++;
+        if (sleeper.partner() == null) {
+            return;
+        }
+        final Sleeper partnerSleeper = this.sleepers.remove(sleeper.partner());
+        if (partnerSleeper == null) {
+            return;
+        }
+        final List<Sleeper> partnerChunk = this.sleepersByChunk.get(partnerSleeper.chunk());
+        if (partnerChunk != null) {
+            partnerChunk.remove(partnerSleeper);
+            if (partnerChunk.isEmpty()) {
+                this.sleepersByChunk.remove(partnerSleeper.chunk());
+            }
+        }
+        final Creature partner = this.rebuild(partnerSleeper);
+        final CompletableFuture<Void> partnerPlaced = this.placer.apply(partner, partnerSleeper.record().position());
+        this.woken++;
+        final Creature first = sleeper.timer() ? partner : creature;
+        final Creature timer = sleeper.timer() ? creature : partner;
+        CompletableFuture.allOf(placed, partnerPlaced).thenRun(() ->
+                InstanceMailbox.of(this.instance).post(() -> {
+                    if (!first.isRemoved() && !timer.isRemoved()) {
+                        first.breedWith(timer);
+                    }
+                }));
+    }
+
+    /**
+     * Build the creature back from its record, taking the time it slept off its breeding time if it was the one
+     * counting down a pairing.
+     */
+    private Creature rebuild(Sleeper sleeper) {
+        final Creature creature = sleeper.record().toCreature();
+        if (sleeper.partner() != null && sleeper.timer()) {
+            final long sleptSeconds = (this.tick - sleeper.since()) / ServerFlag.SERVER_TICKS_PER_SECOND;
+            creature.setTag(Creature.BREEDING_TIME_REMAINING, (int) Math.max(0, sleeper.record().breedingTimeRemaining() - sleptSeconds));
+        }
+        return creature;
+    }
+
+    /**
+     * Get the creatures currently asleep in this instance.
+     */
+    public int size() {
+        return this.sleepers.size();
+    }
+
+    public long getHibernated() {
+        return this.hibernated;
+    }
+
+    public long getWoken() {
+        return this.woken;
+    }
+
+    private static boolean isWithinWakeRadius(Pos player, int chunkX, int chunkZ) {
+        return Math.abs(player.chunkX() - chunkX) <= Config.HIBERNATION_WAKE_RADIUS_CHUNKS
+                && Math.abs(player.chunkZ() - chunkZ) <= Config.HIBERNATION_WAKE_RADIUS_CHUNKS;
+    }
+
+    private static long chunkIndex(int chunkX, int chunkZ) {
+        return ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+    }
+
+    /**
+     * A sleeping creature: its record, the tick it fell asleep at, and the partner it was breeding with, if any,
+     * along with whether it is the one of the two whose breeding time counts down.
+     */
+    private record Sleeper(CreatureRecord record, long since, @Nullable UUID partner, boolean timer) {
+        private long chunk() {
+            return chunkIndex(this.record.position().chunkX(), this.record.position().chunkZ());
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package org.slimecraft.mutationfactory;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A lock-free histogram of non-negative values, such as durations in nanoseconds. Values are counted in log-linear
+ * buckets: every power of two is split into {@link #SUB_BUCKETS} equal buckets, so any value is known to within
+ * 12.5% while the whole range of a long fits in a fixed array. Recording never allocates.
+ */
+public final class Histogram {
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKETS = (Long.SIZE - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts;
+    private final LongAdder sum;
+    private final LongAccumulator max;
+
+    public Histogram() {
+        this.counts = new AtomicLongArray(BUCKETS);
+        this.sum = new LongAdder();
+        this.max = new LongAccumulator(Math::max, 0);
+    }
+
+    public void record(long value) {
+        final long clamped = Math.max(0, value);
+        this.counts.incrementAndGet(bucket(clamped));
+        this.sum.add(clamped);
+        this.max.accumulate(clamped);
+    }
+
+    /**
+     * Get the count of every bucket at this moment; buckets recorded to while copying may or may not be included.
+     */
+    public Snapshot snapshot() {
+        final long[] counts = new long[BUCKETS];
+        long total = 0;
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            counts[bucket] = this.counts.get(bucket);
+            total += counts[bucket];
+        }
+        return new Snapshot(counts, total, this.sum.sum(), this.max.get());
+    }
+
+    private static int bucket(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        final int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+        final int mantissa = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + mantissa;
+    }
+
+    /**
+     * Get the highest value counted in the given bucket.
+     */
+    private static long upperBound(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        final int exponent = bucket / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        final long mantissa = bucket % SUB_BUCKETS;
+        return ((SUB_BUCKETS + mantissa + 1) << (exponent - SUB_BUCKET_BITS)) - 1;
+    }
+
+    public record Snapshot(long[] counts, long count, long sum, long max) {
+        /**
+         * Get the value below which the given fraction of the recorded values fall, as the upper bound of its bucket
+         * but never above the highest recorded value.
+         */
+        public long percentile(double fraction) {
+            if (this.count == 0) {
+                return 0;
+            }
+            final long rank = Math.max(1, (long) Math.ceil(fraction * this.count));
+            long seen = 0;
+            for (int bucket = 0; bucket < this.counts.length; bucket++) {
+                seen += this.counts[bucket];
+                if (seen >= rank) {
+                    return Math.min(upperBound(bucket), this.max);
+                }
+            }
+            return this.max;
+        }
+
+        /**
+         * Get the highest value counted in the given bucket; every bucket holds the values above the bound of the
+         * bucket before it.
+         */
+        public long upperBound(int bucket) {
+            return Histogram.upperBound(bucket);
+        }
+    }
+}
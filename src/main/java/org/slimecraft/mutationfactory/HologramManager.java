@@ -0,0 +1,128 @@
+package org.slimecraft.mutationfactory;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.format.NamedTextColor;
+import net.minestom.server.entity.Entity;
+import net.minestom.server.entity.EntityType;
+import net.minestom.server.entity.Player;
+import net.minestom.server.entity.metadata.display.AbstractDisplayMeta;
+import net.minestom.server.entity.metadata.display.TextDisplayMeta;
+import net.minestom.server.instance.Instance;
+import net.minestom.server.tag.Tag;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Renders the name and level plates of the creatures in an {@link Instance}. A plate entity only exists while a
+ * player is within {@link Config#HOLOGRAM_RANGE} of its creature, and is only shown to the players within that
+ * range. Plate texts are built once per species, level and tamed state and shared by every plate showing them;
+ * a change of tamed state only updates the plate's metadata.
+ */
+public class HologramManager {
+    private static final Tag<@NotNull HologramManager> MANAGER_TAG = Tag.Transient("hologram_manager");
+    private static final Map<PlateKey, Component> TEXTS = new ConcurrentHashMap<>();
+
+    private final Instance instance;
+    private final Set<Creature> tracked;
+    private final Map<Creature, Entity> plates;
+
+    private HologramManager(Instance instance) {
+        this.instance = instance;
+        this.tracked = ConcurrentHashMap.newKeySet();
+        this.plates = new ConcurrentHashMap<>();
+        InstanceMailbox.of(instance).repeat(10, this::refreshPlates);
+    }
+
+    /**
+     * Get the hologram manager of the given instance, creating and starting it the first time
+     * the instance is asked for one.
+     */
+    public static HologramManager of(@NotNull Instance instance) {
+        return InstanceServices.get(instance, MANAGER_TAG, HologramManager::new);
+    }
+
+    public void track(@NotNull Creature creature) {
+        this.tracked.add(creature);
+    }
+
+    public void untrack(@NotNull Creature creature) {
+        this.tracked.remove(creature);
+        final Entity plate = this.plates.remove(creature);
+        if (plate != null) {
+            plate.remove();
+        }
+    }
+
+    /**
+     * Update the text of the creature's plate, if it currently has one.
+     */
+    public void refresh(@NotNull Creature creature) {
+        final Entity plate = this.plates.get(creature);
+        if (plate == null) {
+            return;
+        }
+        plate.editEntityMeta(TextDisplayMeta.class, meta -> meta.setText(text(creature)));
+    }
+
+    /**
+     * Create the plates of the creatures that came within range of a player, remove the ones no player is close to
+     * anymore, and re-evaluate who can see the remaining ones.
+     */
+    private void refreshPlates() {
+        final Set<Creature> inRange = Collections.newSetFromMap(new IdentityHashMap<>());
+        final CreatureGrid grid = CreatureGrid.of(this.instance);
+        for (final Player player : this.instance.getPlayers()) {
+            grid.forEachInRadius(player.getPosition(), Config.HOLOGRAM_RANGE, creature -> {
+                if (this.tracked.contains(creature)) {
+                    inRange.add(creature);
+                }
+            });
+        }
+
+        final Iterator<Map.Entry<Creature, Entity>> iterator = this.plates.entrySet().iterator();
+        while (iterator.hasNext()) {
+            final Map.Entry<Creature, Entity> entry = iterator.next();
+            if (!inRange.contains(entry.getKey())) {
+                entry.getValue().remove();
+                iterator.remove();
+            } else {
+                entry.getValue().updateViewableRule();
+            }
+        }
+        for (final Creature creature : inRange) {
+            if (!this.plates.containsKey(creature)) {
+                this.plates.put(creature, this.createPlate(creature));
+            }
+        }
+    }
+
+    private Entity createPlate(Creature creature) {
+        final double rangeSquared = Config.HOLOGRAM_RANGE * Config.HOLOGRAM_RANGE;
+        final Entity plate = new Entity(EntityType.TEXT_DISPLAY);
+        plate.editEntityMeta(TextDisplayMeta.class, meta -> {
+            meta.setAlignment(TextDisplayMeta.Alignment.CENTER);
+            meta.setBillboardRenderConstraints(AbstractDisplayMeta.BillboardConstraints.CENTER);
+            meta.setText(text(creature));
+            meta.setUseDefaultBackground(true);
+        });
+        plate.updateViewableRule(player -> player.getPosition().distanceSquared(creature.getPosition()) <= rangeSquared);
+        creature.addPassenger(plate);
+        return plate;
+    }
+
+    public int size() {
+        return this.plates.size();
+    }
+
+    private static Component text(Creature creature) {
+        return TEXTS.computeIfAbsent(new PlateKey(creature.getSpecies().name(), creature.getLevel(), creature.isTamed()), key ->
+                Component.text(key.species(), key.tamed() ? NamedTextColor.AQUA : NamedTextColor.WHITE)
+                        .append(Component.text(" | "))
+                        .append(Component.text(key.level())));
+    }
+
+    private record PlateKey(String species, int level, boolean tamed) {
+    }
+}
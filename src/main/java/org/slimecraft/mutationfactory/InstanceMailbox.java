@@ -0,0 +1,103 @@
+package org.slimecraft.mutationfactory;
+
+import net.minestom.server.MinecraftServer;
+import net.minestom.server.instance.Instance;
+import net.minestom.server.tag.Tag;
+import net.minestom.server.timer.Task;
+import net.minestom.server.timer.TaskSchedule;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Runs the work that touches entities other than the one doing it, such as leashing, breeding or dealing batched
+ * damage, at a point of the server tick where no entity of the {@link Instance} is being ticked. Minestom ticks the
+ * chunks of an instance, and the instance itself, on several threads at once; the mailbox is instead drained by the
+ * global scheduler, which runs on the tick thread before and after the chunk threads are done. Actions posted during
+ * a tick run, in order, at the start of the next one, followed by the tasks repeating on the mailbox. An action that
+ * throws is reported to the exception manager and does not keep the others from running.
+ */
+public class InstanceMailbox {
+    private static final Tag<@NotNull InstanceMailbox> MAILBOX_TAG = Tag.Transient("instance_mailbox");
+
+    private final Instance instance;
+    private final Queue<Runnable> actions;
+    private final List<Repeating> repeating;
+    private final Task task;
+    private long tick;
+
+    private InstanceMailbox(Instance instance) {
+        this.instance = instance;
+        this.actions = new ConcurrentLinkedQueue<>();
+        this.repeating = new CopyOnWriteArrayList<>();
+        this.task = MinecraftServer.getSchedulerManager().buildTask(this::drain)
+                .repeat(TaskSchedule.tick(1))
+                .schedule();
+    }
+
+    /**
+     * Get the mailbox of the given instance, creating and starting it the first time
+     * the instance is asked for one.
+     */
+    public static InstanceMailbox of(@NotNull Instance instance) {
+        return InstanceServices.get(instance, MAILBOX_TAG, InstanceMailbox::new);
+    }
+
+    public void post(@NotNull Runnable action) {
+        this.actions.add(action);
+    }
+
+    /**
+     * Run the task every given amount of ticks, after the actions posted to the mailbox, for as long as the instance
+     * is registered.
+     */
+    public void repeat(int ticks, @NotNull Runnable task) {
+        this.repeating.add(new Repeating(ticks, task));
+    }
+
+    private void drain() {
+        if (!this.instance.isRegistered()) {
+            this.task.cancel();
+            return;
+        }
+        this.tick++;
+        this.runPosted();
+        for (final Repeating repeating : this.repeating) {
+            if (this.tick % repeating.ticks() == 0) {
+                run(repeating.task());
+            }
+        }
+    }
+
+    /**
+     * Run the actions posted so far on the calling thread. The server does so at the start of every tick; this is
+     * only for code driving the mailbox of a server that never ticks, such as the benchmarks.
+     */
+    void runPosted() {
+        Runnable action;
+        while ((action = this.actions.poll()) != null) {
+            run(action);
+        }
+    }
+
+    /**
+     * Run the action, reporting whatever it throws instead of letting it abort the rest of the drain.
+     */
+    private static void run(Runnable action) {
+        try {
+            action.run();
+        } catch (RuntimeException e) {
+            MinecraftServer.getExceptionManager().handleException(e);
+        }
+    }
+
+    public int size() {
+        return this.actions.size();
+    }
+
+    private record Repeating(int ticks, Runnable task) {
+    }
+}
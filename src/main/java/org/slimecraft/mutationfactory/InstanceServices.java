@@ -0,0 +1,32 @@
+package org.slimecraft.mutationfactory;
+
+import net.minestom.server.instance.Instance;
+import net.minestom.server.tag.Tag;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.function.Function;
+
+/**
+ * Looks up the services living on an {@link Instance}, such as its {@link CreatureGrid}. A service is created the
+ * first time it is asked for and stored in a transient tag of the instance. Creation is guarded by the instance, so
+ * threads ticking different parts of the instance at the same time still share a single service.
+ */
+public final class InstanceServices {
+    private InstanceServices() {
+    }
+
+    public static <T> T get(@NotNull Instance instance, @NotNull Tag<@NotNull T> tag, @NotNull Function<Instance, T> factory) {
+        T service = instance.getTag(tag);
+        if (service != null) {
+            return service;
+        }
+        synchronized (instance) {
+            service = instance.getTag(tag);
+            if (service == null) {
+                service = factory.apply(instance);
+                instance.setTag(tag, service);
+            }
+            return service;
+        }
+    }
+}
@@ -1,43 +1,48 @@
 package org.slimecraft.mutationfactory;
 
-import net.kyori.adventure.text.Component;
-import net.kyori.adventure.text.format.NamedTextColor;
 import net.minestom.server.MinecraftServer;
 import net.minestom.server.coordinate.Pos;
 import net.minestom.server.entity.Entity;
-import net.minestom.server.entity.LivingEntity;
 import net.minestom.server.entity.Player;
 import net.minestom.server.entity.PlayerHand;
 import net.minestom.server.entity.ai.EntityAIGroup;
 import net.minestom.server.entity.ai.goal.MeleeAttackGoal;
-import net.minestom.server.entity.ai.target.ClosestEntityTarget;
-import net.minestom.server.entity.attribute.Attribute;
-import net.minestom.server.entity.damage.Damage;
 import net.minestom.server.event.Event;
 import net.minestom.server.event.EventNode;
-import net.minestom.server.event.entity.EntityAttackEvent;
 import net.minestom.server.event.player.*;
 import net.minestom.server.instance.InstanceContainer;
 import net.minestom.server.instance.LightingChunk;
 import net.minestom.server.instance.block.Block;
 import net.minestom.server.item.ItemStack;
-import net.minestom.server.scoreboard.Team;
-import net.minestom.server.timer.TaskSchedule;
 import net.minestom.server.utils.time.TimeUnit;
+import org.jetbrains.annotations.NotNull;
 
-import java.util.Random;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class MapManager {
     private final EventNode<Event> node;
     private final InstanceContainer rootInstance;
-    private final Random random;
+    private final CreatureStore creatureStore;
+    private final Set<UUID> restoredOwners;
 
     public MapManager(EventNode<Event> node) {
         this.node = node;
         this.rootInstance = MinecraftServer.getInstanceManager().createInstanceContainer();
-        this.random = new Random();
+        Rng.key(this.rootInstance, "root");
+        try {
+            this.creatureStore = CreatureStore.open(Path.of(Config.STORE_DIRECTORY));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        this.restoredOwners = ConcurrentHashMap.newKeySet();
         this.configureRootInstance();
+        this.setupPersistence();
         this.setupPlayer();
         this.setupEvents();
     }
@@ -45,42 +50,75 @@ public class MapManager {
     private void setupEvents() {
         this.node.addListener(PlayerBlockInteractEvent.class, event -> {
             final MutationFactoryPlayer player = (MutationFactoryPlayer) event.getPlayer();
-            final ItemStack item = player.getItemInMainHand();
-            if (!CreatureItemStack.isCreatureItem(item)) {
-                return;
-            }
-            final Creature creature = CreatureItemStack.toCreature(item);
+            this.placeHeldCreature(player, Pos.fromPoint(event.getBlockPosition().withY(y -> y + 1)));
+        });
+    }
+
+    /**
+     * Place the creature the player holds in their main hand at the given position, emptying the hand.
+     *
+     * @return whether the player held a creature
+     */
+    public boolean placeHeldCreature(@NotNull MutationFactoryPlayer player, @NotNull Pos position) {
+        final ItemStack item = player.getItemInMainHand();
+        if (!CreatureItemStack.isCreatureItem(item)) {
+            return false;
+        }
+        final Creature creature = CreatureItemStack.toCreature(item);
+
+        this.place(player, creature, position);
+        player.setItemInMainHand(ItemStack.AIR);
+        return true;
+    }
+
+    public InstanceContainer getRootInstance() {
+        return this.rootInstance;
+    }
 
-            creature.setInstance(this.rootInstance, event.getBlockPosition().withY(y -> y + 1));
+    /**
+     * Place a tamed creature in the root instance on behalf of its owner, and persist it once it exists.
+     */
+    private void place(MutationFactoryPlayer owner, Creature creature, Pos position) {
+        creature.setOwner(owner.getUuid());
+        this.spawnOwned(creature, position).thenRun(() -> this.creatureStore.put(CreatureRecord.of(creature)));
+    }
 
-            player.addCreatureInSameInstance(creature);
-            player.setItemInMainHand(ItemStack.AIR);
+    /**
+     * Spawn an owned creature in the root instance, following its owner's target if the owner is online.
+     */
+    private CompletableFuture<Void> spawnOwned(Creature creature, Pos position) {
+        final UUID ownerId = creature.getOwner();
+        final Player online = ownerId == null ? null : MinecraftServer.getConnectionManager().getOnlinePlayerByUuid(ownerId);
+        if (online instanceof final MutationFactoryPlayer owner) {
             creature.getAIGroups().forEach(group -> {
-                group.getTargetSelectors().add(new ClosestEntityTarget(creature, 75, entity -> {
-                    return player.getTarget().isPresent() && player.getTarget().get().equals(entity);
-                }));
+                group.getTargetSelectors().add(new OwnerTarget(creature, owner, 75));
             });
-        });
-        this.node.addListener(EntityAttackEvent.class, event -> {
-            if (!(event.getEntity() instanceof final Creature creature)) {
-                return;
-            }
-            if (!(event.getTarget() instanceof final LivingEntity livingEntity)) {
-                return;
-            }
-            livingEntity.damage(Damage.fromEntity(creature, (float) creature.getAttribute(Attribute.ATTACK_DAMAGE).getBaseValue()));
-        });
-        this.node.addListener(PlayerDeathEvent.class, event -> {
-            final Player player = event.getPlayer();
-            final Damage source = player.getLastDamageSource();
+        }
+        return creature.setInstance(this.rootInstance, position);
+    }
 
-            if (source == null) {
-                event.setChatMessage(player.getName().append(Component.text(" was killed due to unforeseen events")));
+    /**
+     * Restore the creatures a player left in the world the first time they join after a restart, and save every
+     * placed creature where it stands when the server shuts down.
+     */
+    private void setupPersistence() {
+        CreatureStore.install(this.rootInstance, this.creatureStore);
+        this.rootInstance.eventNode().addListener(PlayerSpawnEvent.class, event -> {
+            final MutationFactoryPlayer player = (MutationFactoryPlayer) event.getPlayer();
+            if (!event.isFirstSpawn() || !this.restoredOwners.add(player.getUuid())) {
                 return;
             }
-            if (source.getAttacker() instanceof final Creature creature) {
-                event.setChatMessage(player.getName().append(Component.text(" was killed by a ").append(Component.text(creature.getSpecies().name()))));
+            this.creatureStore.loadOwned(player.getUuid()).thenAccept(records ->
+                    InstanceMailbox.of(this.rootInstance).post(() ->
+                            records.forEach(record -> this.place(player, record.toCreature(), record.position()))));
+        });
+        MinecraftServer.getSchedulerManager().buildShutdownTask(() -> {
+            for (final Entity entity : this.rootInstance.getEntities()) {
+                if (entity instanceof final Creature creature && creature.isTamed() && creature.getOwner() != null) {
+                    this.creatureStore.put(CreatureRecord.of(creature));
+                }
             }
+            this.creatureStore.close();
         });
     }
 
@@ -89,65 +127,38 @@ public class MapManager {
             unit.modifier().fillHeight(0, 50, Block.GRASS_BLOCK);
         });
         this.rootInstance.setChunkSupplier(LightingChunk::new);
-        this.rootInstance.eventNode().addListener(PlayerSpawnEvent.class, event -> {
-            final MutationFactoryPlayer player = (MutationFactoryPlayer) event.getPlayer();
-            double interactionRange = player.getAttribute(Attribute.ENTITY_INTERACTION_RANGE).getBaseValue();
-
-            this.rootInstance.scheduler().buildTask(() -> {
-                        final Creature creature = CreatureRegistry.random();
-                        final Pos pos = new Pos(this.random.nextInt(0, 50), 50, this.random.nextInt(0, 50));
-                        this.rootInstance.loadChunk(pos).thenRun(() -> {
-                            creature.setInstance(this.rootInstance, pos);
-                        });
-                    })
-                    .repeat(TaskSchedule.seconds(1))
-                    .schedule();
-
-            final Team enemy = MinecraftServer.getTeamManager().createTeam("enemy");
-            enemy.setTeamColor(NamedTextColor.RED);
-            enemy.updateTeamColor(NamedTextColor.RED);
-            AtomicInteger checks = new AtomicInteger();
-            this.rootInstance.scheduler().buildTask(() -> {
-                        System.out.println("fired");
-                        if (!player.isSneaking()) {
-                            player.setTarget(null);
-                            player.getAttribute(Attribute.ENTITY_INTERACTION_RANGE).setBaseValue(interactionRange);
-                            return;
-                        }
-                        final LivingEntity lookingAt = (LivingEntity) player.getLineOfSightEntity(75, entity -> {
-                            if (entity instanceof final Creature creature) {
-                                return !player.getCreaturesInSameInstance().contains(creature);
-                            }
-                            return entity instanceof LivingEntity;
-                        });
-
-                        if (lookingAt == null) {
-                            if (checks.getAndIncrement() == 10) {
-                                player.setTarget(null);
-                                player.getAttribute(Attribute.ENTITY_INTERACTION_RANGE).setBaseValue(interactionRange);
-                            }
-                            return;
-                        }
-
-                        System.out.println("setting new target");
-                        final Entity lastLookingAt = player.getTarget().orElse(null);
-
-                        if (lastLookingAt != null && lastLookingAt != lookingAt && lastLookingAt.isGlowing()) {
-                            lastLookingAt.setGlowing(false);
-                            player.setTarget(null);
-                            player.getAttribute(Attribute.ENTITY_INTERACTION_RANGE).setBaseValue(interactionRange);
-                            return;
-                        }
-                        player.setTarget(lookingAt);
+        ChunkPregenerator.prepare(this.rootInstance, Path.of(Config.WORLD_DIRECTORY), Config.PREGENERATE_RADIUS_CHUNKS);
+        CreatureSpawner.of(this.rootInstance);
+        SneakTargetingService.of(this.rootInstance);
+        CombatResolver.of(this.rootInstance);
+        HibernationManager.install(this.rootInstance, this::spawnOwned);
+        this.registerMetrics();
+    }
 
-                        lookingAt.setTeam(enemy);
-                        lookingAt.setGlowing(true);
-                        player.getAttribute(Attribute.ENTITY_INTERACTION_RANGE).setBaseValue(10000);
-                        System.out.println(player.getTarget());
-                    })
-                    .repeat(TaskSchedule.seconds(1 ))
-                    .schedule();
-        });
+    /**
+     * Expose the counters the services of the root instance keep themselves through the {@link Metrics}.
+     */
+    private void registerMetrics() {
+        final CreatureSpawner spawner = CreatureSpawner.of(this.rootInstance);
+        final CreatureAiScheduler aiScheduler = CreatureAiScheduler.of(this.rootInstance);
+        final CreaturePool pool = CreaturePool.of(this.rootInstance);
+        final CombatResolver combat = CombatResolver.of(this.rootInstance);
+        final HibernationManager hibernation = HibernationManager.of(this.rootInstance);
+        Metrics.counter("mutationfactory_despawns_total", "Wild creatures despawned", spawner::getDespawns);
+        Metrics.gauge("mutationfactory_wild_population", "Wild creatures kept by the spawner", spawner::getPopulation);
+        Metrics.counter("mutationfactory_ai_evaluated_total", "Creature AI ticks that ran", aiScheduler::getEvaluated);
+        Metrics.counter("mutationfactory_ai_skipped_total", "Creature AI ticks skipped by level of detail", aiScheduler::getSkipped);
+        Metrics.counter("mutationfactory_ai_deferred_total", "Creature AI ticks deferred by the tick budget", aiScheduler::getDeferrals);
+        Metrics.counter("mutationfactory_pool_created_total", "Creatures built because the pool was empty", pool::getCreated);
+        Metrics.counter("mutationfactory_pool_reused_total", "Creatures taken from the pool", pool::getReused);
+        Metrics.gauge("mutationfactory_pool_size", "Creatures parked in the pool", pool::size);
+        Metrics.counter("mutationfactory_combat_attacks_total", "Creature attacks queued", combat::getAttacks);
+        Metrics.counter("mutationfactory_combat_hits_total", "Batched hits dealt by creatures", combat::getHits);
+        Metrics.gauge("mutationfactory_breeding_pairs", "Pairs currently breeding", BreedingScheduler.of(this.rootInstance)::size);
+        Metrics.gauge("mutationfactory_hibernating", "Tamed creatures asleep", hibernation::size);
+        Metrics.counter("mutationfactory_hibernations_total", "Tamed creatures put to sleep", hibernation::getHibernated);
+        Metrics.counter("mutationfactory_wakes_total", "Tamed creatures woken up", hibernation::getWoken);
+        Metrics.gauge("mutationfactory_stored_creatures", "Creatures kept in the creature store", this.creatureStore::size);
     }
 
     private void setupPlayer() {
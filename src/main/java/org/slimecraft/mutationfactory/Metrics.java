@@ -0,0 +1,124 @@
+package org.slimecraft.mutationfactory;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * The counters and histograms describing what the creature subsystems are doing, written out in the Prometheus text
+ * format by the {@link MetricsExporter}. Counters are striped {@link LongAdder}s and histograms are lock-free, so
+ * recording from any thread costs a few atomic additions; all the formatting is left to whoever reads them.
+ * <p>
+ * Services living on an instance expose their own counters; they are registered here as functions read
+ * when the metrics are written.
+ * <p>
+ * Histograms are written as Prometheus histograms: cumulative bucket counts that are never reset, from which the
+ * server scraping them computes quantiles over whatever window it queries with {@code rate}. Only the buckets that
+ * counted a value are written; as counts only grow, a bucket that appeared once stays in every later scrape.
+ */
+public final class Metrics {
+    private static final Map<String, Metric> METRICS = new ConcurrentHashMap<>();
+    private static final Map<LiveKey, LongAdder> LIVE_CREATURES = new ConcurrentHashMap<>();
+
+    public static final LongAdder SPAWNS = counter("mutationfactory_spawns_total", "Wild creatures spawned");
+    public static final LongAdder TAMES = counter("mutationfactory_tames_total", "Creatures tamed by players");
+    public static final LongAdder BREEDINGS = counter("mutationfactory_breedings_total", "Breedings that produced offspring");
+    public static final Histogram AI_TICK_NANOS = histogram("mutationfactory_ai_tick_nanoseconds", "Time a creature spent running its AI in one tick");
+    public static final Histogram ATTACK_DISPATCH_NANOS = histogram("mutationfactory_attack_dispatch_nanoseconds", "Time spent handling an attack on a creature");
+    public static final Histogram INTERACT_DISPATCH_NANOS = histogram("mutationfactory_interact_dispatch_nanoseconds", "Time spent handling an interaction with a creature");
+    public static final Histogram ITEM_ENCODE_NANOS = histogram("mutationfactory_item_encode_nanoseconds", "Time spent turning a creature into an item");
+    public static final Histogram ITEM_DECODE_NANOS = histogram("mutationfactory_item_decode_nanoseconds", "Time spent decoding the record of a creature item");
+
+    private Metrics() {
+    }
+
+    public static LongAdder counter(@NotNull String name, @NotNull String help) {
+        final LongAdder counter = new LongAdder();
+        register(name, new Metric("counter", help, counter::sum, null));
+        return counter;
+    }
+
+    /**
+     * Register a counter kept by someone else, read through the given function.
+     */
+    public static void counter(@NotNull String name, @NotNull String help, @NotNull LongSupplier value) {
+        register(name, new Metric("counter", help, value, null));
+    }
+
+    public static void gauge(@NotNull String name, @NotNull String help, @NotNull LongSupplier value) {
+        register(name, new Metric("gauge", help, value, null));
+    }
+
+    public static Histogram histogram(@NotNull String name, @NotNull String help) {
+        final Histogram histogram = new Histogram();
+        register(name, new Metric("histogram", help, null, histogram));
+        return histogram;
+    }
+
+    private static void register(String name, Metric metric) {
+        if (METRICS.putIfAbsent(name, metric) != null) {
+            throw new IllegalArgumentException("A metric named " + name + " is already registered");
+        }
+    }
+
+    /**
+     * Count a creature that came to live in an instance.
+     *
+     * @return the key to give back to {@link #creatureGone(LiveKey)} once the creature stops existing
+     */
+    public static LiveKey creatureLiving(@NotNull Species species, boolean tamed) {
+        final LiveKey key = new LiveKey(species.name(), tamed);
+        LIVE_CREATURES.computeIfAbsent(key, ignored -> new LongAdder()).increment();
+        return key;
+    }
+
+    public static void creatureGone(@NotNull LiveKey key) {
+        final LongAdder live = LIVE_CREATURES.get(key);
+        if (live != null) {
+            live.decrement();
+        }
+    }
+
+    /**
+     * Write every metric in the Prometheus text exposition format.
+     */
+    public static void write(@NotNull StringBuilder out) {
+        METRICS.entrySet().stream().sorted(Map.Entry.comparingByKey()).forEach(entry -> {
+            final String name = entry.getKey();
+            final Metric metric = entry.getValue();
+            out.append("# HELP ").append(name).append(' ').append(metric.help()).append('\n');
+            out.append("# TYPE ").append(name).append(' ').append(metric.type()).append('\n');
+            if (metric.histogram() == null) {
+                out.append(name).append(' ').append(metric.value().getAsLong()).append('\n');
+                return;
+            }
+            final Histogram.Snapshot snapshot = metric.histogram().snapshot();
+            long cumulative = 0;
+            for (int bucket = 0; bucket < snapshot.counts().length; bucket++) {
+                if (snapshot.counts()[bucket] == 0) {
+                    continue;
+                }
+                cumulative += snapshot.counts()[bucket];
+                out.append(name).append("_bucket{le=\"").append(snapshot.upperBound(bucket)).append("\"} ").append(cumulative).append('\n');
+            }
+            out.append(name).append("_bucket{le=\"+Inf\"} ").append(snapshot.count()).append('\n');
+            out.append(name).append("_sum ").append(snapshot.sum()).append('\n');
+            out.append(name).append("_count ").append(snapshot.count()).append('\n');
+            out.append("# TYPE ").append(name).append("_max gauge\n");
+            out.append(name).append("_max ").append(snapshot.max()).append('\n');
+        });
+        out.append("# HELP mutationfactory_live_creatures Creatures living in an instance, by species and tamed state\n");
+        out.append("# TYPE mutationfactory_live_creatures gauge\n");
+        LIVE_CREATURES.forEach((key, live) -> out.append("mutationfactory_live_creatures{species=\"").append(key.species())
+                .append("\",tamed=\"").append(key.tamed()).append("\"} ").append(live.sum()).append('\n'));
+    }
+
+    private record Metric(String type, String help, LongSupplier value, Histogram histogram) {
+    }
+
+    public record LiveKey(String species, boolean tamed) {
+    }
+}
@@ -0,0 +1,57 @@
+package org.slimecraft.mutationfactory;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Executors;
+
+/**
+ * Serves the {@link Metrics} over HTTP on the loopback interface only, at {@code /metrics}, in the Prometheus text
+ * format. Requests are answered by a single daemon thread, so a scrape never competes with the tick threads for
+ * more than one core.
+ */
+public final class MetricsExporter {
+    private static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    private MetricsExporter() {
+    }
+
+    /**
+     * Start serving the metrics on the given port; does nothing if the port is not positive.
+     */
+    public static void start(int port) {
+        if (port <= 0) {
+            return;
+        }
+        final HttpServer server;
+        try {
+            server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        server.createContext("/metrics", MetricsExporter::handle);
+        server.setExecutor(Executors.newSingleThreadExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "metrics-exporter");
+            thread.setDaemon(true);
+            return thread;
+        }));
+        server.start();
+    }
+
+    private static void handle(HttpExchange exchange) throws IOException {
+        final StringBuilder body = new StringBuilder(8192);
+        Metrics.write(body);
+        final byte[] bytes = body.toString().getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (final OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
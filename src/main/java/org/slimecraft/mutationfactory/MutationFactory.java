@@ -10,6 +10,7 @@ public class MutationFactory {
         final GlobalEventHandler eventHandler = MinecraftServer.getGlobalEventHandler();
         MinecraftServer.getConnectionManager().setPlayerProvider(MutationFactoryPlayer::new);
         new MapManager(eventHandler);
+        MetricsExporter.start(Config.METRICS_PORT);
 
         minecraftServer.start("0.0.0.0", 25565);
     }
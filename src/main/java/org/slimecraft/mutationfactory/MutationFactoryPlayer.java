@@ -6,30 +6,26 @@ import net.minestom.server.network.player.GameProfile;
 import net.minestom.server.network.player.PlayerConnection;
 import org.jetbrains.annotations.NotNull;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
 public class MutationFactoryPlayer extends Player {
-    private final List<Creature> creaturesInSameInstance;
     private Entity target;
 
     public MutationFactoryPlayer(@NotNull PlayerConnection playerConnection, @NotNull GameProfile gameProfile) {
         super(playerConnection, gameProfile);
-        this.creaturesInSameInstance = new ArrayList<>();
     }
 
-    public void addCreatureInSameInstance(Creature creature) {
-        this.creaturesInSameInstance.add(creature);
+    /**
+     * Get the creatures this player owns that currently live in an instance, as found in the {@link CreatureRoster}.
+     * Creatures put to sleep by a {@link HibernationManager} are not part of it until they wake up.
+     */
+    public List<Creature> getCreatures() {
+        return CreatureRoster.byOwner(this.getUuid());
     }
 
-    public void removeCreatureInSameInstance(Creature creature) {
-        this.creaturesInSameInstance.remove(creature);
-    }
-
-
-    public List<Creature> getCreaturesInSameInstance() {
-        return this.creaturesInSameInstance;
+    public boolean owns(@NotNull Creature creature) {
+        return CreatureRoster.isOwnedBy(creature, this.getUuid());
     }
 
     public Optional<Entity> getTarget() {
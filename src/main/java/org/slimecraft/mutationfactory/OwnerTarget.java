@@ -0,0 +1,41 @@
+package org.slimecraft.mutationfactory;
+
+import net.minestom.server.entity.Entity;
+import net.minestom.server.entity.EntityCreature;
+import net.minestom.server.entity.LivingEntity;
+import net.minestom.server.entity.ai.TargetSelector;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Targets whatever the owner of a tamed creature is currently targeting, as long as it is within range.
+ * The owner's target is already known, so no candidates have to be scanned at all.
+ */
+public class OwnerTarget extends TargetSelector {
+    private final MutationFactoryPlayer owner;
+    private final double range;
+
+    public OwnerTarget(@NotNull EntityCreature entityCreature, @NotNull MutationFactoryPlayer owner, double range) {
+        super(entityCreature);
+        this.owner = owner;
+        this.range = range;
+    }
+
+    @Override
+    public @Nullable Entity findTarget() {
+        final Entity target = this.owner.getTarget().orElse(null);
+        if (target == null || target == this.entityCreature || target.isRemoved()) {
+            return null;
+        }
+        if (target instanceof final LivingEntity livingEntity && livingEntity.isDead()) {
+            return null;
+        }
+        if (target.getInstance() != this.entityCreature.getInstance()) {
+            return null;
+        }
+        if (target.getPosition().distanceSquared(this.entityCreature.getPosition()) > this.range * this.range) {
+            return null;
+        }
+        return target;
+    }
+}
@@ -0,0 +1,71 @@
+package org.slimecraft.mutationfactory;
+
+import net.minestom.server.instance.Instance;
+import net.minestom.server.tag.Tag;
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.charset.StandardCharsets;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.random.RandomGenerator;
+
+/**
+ * Hands out the random generators of the server. Every thread gets its own stream through {@link #current()}, and
+ * every instance its own through {@link #of(Instance)}, so generators are neither allocated per use nor shared
+ * between threads. All streams are split from one root generator; when {@link Config#WORLD_SEED} is set, the root
+ * and every instance stream are derived from it, so spawns and breeding can be replayed. Instance UUIDs are random on
+ * every boot, so an instance stream is instead derived from the key given to the instance through
+ * {@link #key(Instance, String)}, or from the order instances first asked for their stream if it was given none.
+ */
+public final class Rng {
+    private static final Tag<@NotNull SplittableRandom> RNG_TAG = Tag.Transient("rng");
+    private static final Tag<@NotNull String> KEY_TAG = Tag.Transient("rng_key");
+    private static final AtomicInteger UNKEYED = new AtomicInteger();
+    private static final SplittableRandom ROOT = Config.WORLD_SEED != null
+            ? new SplittableRandom(Config.WORLD_SEED)
+            : new SplittableRandom();
+    private static final ThreadLocal<SplittableRandom> THREAD = ThreadLocal.withInitial(Rng::split);
+
+    private Rng() {
+    }
+
+    /**
+     * Get the stream of the calling thread. It must not be handed to other threads.
+     */
+    public static RandomGenerator current() {
+        return THREAD.get();
+    }
+
+    /**
+     * Give the instance the key its stream is derived from, the same on every boot; must be called before anything
+     * asks for the stream of the instance.
+     */
+    public static void key(@NotNull Instance instance, @NotNull String key) {
+        instance.setTag(KEY_TAG, key);
+    }
+
+    /**
+     * Get the stream of the given instance, creating it the first time the instance is asked for one. It must only
+     * be used from the {@link InstanceMailbox} of the instance. With a world seed, the stream only depends on the seed
+     * and the key of the instance.
+     */
+    public static RandomGenerator of(@NotNull Instance instance) {
+        return InstanceServices.get(instance, RNG_TAG, key -> Config.WORLD_SEED != null
+                ? new SplittableRandom(Config.WORLD_SEED ^ seedOf(key))
+                : split());
+    }
+
+    private static long seedOf(Instance instance) {
+        final String key = instance.getTag(KEY_TAG);
+        final String name = key != null ? "key:" + key : "order:" + UNKEYED.getAndIncrement();
+        final UUID hash = UUID.nameUUIDFromBytes(name.getBytes(StandardCharsets.UTF_8));
+        return hash.getMostSignificantBits() ^ hash.getLeastSignificantBits();
+    }
+
+    private static SplittableRandom split() {
+        synchronized (ROOT) {
+            return ROOT.split();
+        }
+    }
+}
@@ -0,0 +1,212 @@
+package org.slimecraft.mutationfactory;
+
+import net.kyori.adventure.text.format.NamedTextColor;
+import net.minestom.server.MinecraftServer;
+import net.minestom.server.coordinate.Pos;
+import net.minestom.server.entity.Entity;
+import net.minestom.server.entity.LivingEntity;
+import net.minestom.server.entity.attribute.Attribute;
+import net.minestom.server.event.instance.RemoveEntityFromInstanceEvent;
+import net.minestom.server.event.player.PlayerDisconnectEvent;
+import net.minestom.server.event.player.PlayerStartSneakingEvent;
+import net.minestom.server.event.player.PlayerStopSneakingEvent;
+import net.minestom.server.instance.Instance;
+import net.minestom.server.scoreboard.Team;
+import net.minestom.server.tag.Tag;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Lets the players of an {@link Instance} pick a creature to command by sneaking and looking at it. Exactly one
+ * service exists per instance, driven by a single task that only visits the players currently sneaking; each of
+ * them is looked at every {@link Config#SNEAK_TARGET_INTERVAL} ticks, and the raycast is mostly skipped while they
+ * have not moved their head since the last one; it still runs now and then to notice targets moving away. Targets
+ * glow in the shared {@code enemy} team for as long as at least one player targets them. Sneaking events are handed
+ * to the {@link InstanceMailbox}, which also drives the service, so its state is only ever touched while no chunk of
+ * the instance is being ticked.
+ */
+public class SneakTargetingService {
+    private static final Tag<@NotNull SneakTargetingService> SERVICE_TAG = Tag.Transient("sneak_targeting_service");
+    private static final String TEAM_NAME = "enemy";
+    private static final double TARGET_RANGE = 75;
+    private static final double COMMAND_RANGE = 10000;
+    private static final int MISSES_BEFORE_RELEASE = 5;
+    private static final int MAX_IDLE_CHECKS = 5;
+    private static final float ROTATION_THRESHOLD = 1;
+
+    private final Instance instance;
+    private final Team enemyTeam;
+    private final Map<MutationFactoryPlayer, Sneaker> sneakers;
+    private final Map<LivingEntity, Integer> glowing;
+    private long tick;
+
+    private SneakTargetingService(Instance instance) {
+        this.instance = instance;
+        this.enemyTeam = enemyTeam();
+        this.sneakers = new IdentityHashMap<>();
+        this.glowing = new IdentityHashMap<>();
+        final InstanceMailbox mailbox = InstanceMailbox.of(instance);
+        instance.eventNode().addListener(PlayerStartSneakingEvent.class, event -> {
+            if (event.getPlayer() instanceof final MutationFactoryPlayer player) {
+                mailbox.post(() -> this.sneakers.computeIfAbsent(player, Sneaker::new));
+            }
+        });
+        instance.eventNode().addListener(PlayerStopSneakingEvent.class, event -> mailbox.post(() -> this.stop(event.getPlayer())));
+        instance.eventNode().addListener(PlayerDisconnectEvent.class, event -> mailbox.post(() -> this.stop(event.getPlayer())));
+        instance.eventNode().addListener(RemoveEntityFromInstanceEvent.class, event -> mailbox.post(() -> {
+            this.stop(event.getEntity());
+            this.releaseAll(event.getEntity());
+        }));
+        mailbox.repeat(1, this::update);
+    }
+
+    /**
+     * Get the targeting service of the given instance, creating and starting it the first time
+     * the instance is asked for one.
+     */
+    public static SneakTargetingService of(@NotNull Instance instance) {
+        return InstanceServices.get(instance, SERVICE_TAG, SneakTargetingService::new);
+    }
+
+    private static Team enemyTeam() {
+        final Team existing = MinecraftServer.getTeamManager().getTeam(TEAM_NAME);
+        if (existing != null) {
+            return existing;
+        }
+        final Team team = MinecraftServer.getTeamManager().createTeam(TEAM_NAME);
+        team.updateTeamColor(NamedTextColor.RED);
+        return team;
+    }
+
+    private void update() {
+        this.tick++;
+        if (this.sneakers.isEmpty()) {
+            return;
+        }
+        final CreatureGrid grid = CreatureGrid.of(this.instance);
+        for (final Sneaker sneaker : this.sneakers.values()) {
+            if ((this.tick + sneaker.player.getEntityId()) % Config.SNEAK_TARGET_INTERVAL != 0) {
+                continue;
+            }
+            if (sneaker.target != null && sneaker.target.isRemoved()) {
+                this.retarget(sneaker, null);
+            }
+            final Pos position = sneaker.player.getPosition();
+            if (sneaker.lastPosition != null && !sneaker.hasMoved(position) && ++sneaker.idleChecks < MAX_IDLE_CHECKS) {
+                continue;
+            }
+            sneaker.lastPosition = position;
+            sneaker.idleChecks = 0;
+            final LivingEntity lookingAt = grid.lineOfSight(sneaker.player, TARGET_RANGE, creature ->
+                    !sneaker.player.owns(creature));
+            if (lookingAt == null) {
+                if (sneaker.target != null && ++sneaker.misses >= MISSES_BEFORE_RELEASE) {
+                    this.retarget(sneaker, null);
+                }
+                continue;
+            }
+            sneaker.misses = 0;
+            if (lookingAt != sneaker.target) {
+                this.retarget(sneaker, lookingAt);
+            }
+        }
+    }
+
+    /**
+     * Switch the target of the sneaking player, moving the glow from the old target to the new one.
+     */
+    private void retarget(Sneaker sneaker, @Nullable LivingEntity target) {
+        if (sneaker.target != null) {
+            this.releaseGlow(sneaker.target);
+        }
+        sneaker.target = target;
+        sneaker.misses = 0;
+        sneaker.player.setTarget(target);
+        if (target == null) {
+            sneaker.player.getAttribute(Attribute.ENTITY_INTERACTION_RANGE).setBaseValue(sneaker.interactionRange);
+            return;
+        }
+        if (this.glowing.merge(target, 1, Integer::sum) == 1) {
+            target.setTeam(this.enemyTeam);
+            target.setGlowing(true);
+        }
+        sneaker.player.getAttribute(Attribute.ENTITY_INTERACTION_RANGE).setBaseValue(COMMAND_RANGE);
+    }
+
+    private void releaseGlow(LivingEntity target) {
+        final Integer count = this.glowing.get(target);
+        if (count == null) {
+            return;
+        }
+        if (count > 1) {
+            this.glowing.put(target, count - 1);
+            return;
+        }
+        this.glowing.remove(target);
+        if (!target.isRemoved()) {
+            target.setGlowing(false);
+            target.setTeam(null);
+        }
+    }
+
+    /**
+     * Stop targeting for the player, if it was sneaking, giving back its target and interaction range.
+     */
+    private void stop(Entity entity) {
+        if (!(entity instanceof final MutationFactoryPlayer player)) {
+            return;
+        }
+        final Sneaker sneaker = this.sneakers.remove(player);
+        if (sneaker != null) {
+            this.retarget(sneaker, null);
+        }
+    }
+
+    /**
+     * Drop every targeting of an entity that left the instance.
+     */
+    private void releaseAll(Entity entity) {
+        if (!this.glowing.containsKey(entity)) {
+            return;
+        }
+        for (final Sneaker sneaker : this.sneakers.values()) {
+            if (sneaker.target == entity) {
+                this.retarget(sneaker, null);
+            }
+        }
+        this.glowing.remove(entity);
+    }
+
+    /**
+     * Get the amount of players currently sneaking.
+     */
+    public int size() {
+        return this.sneakers.size();
+    }
+
+    private static final class Sneaker {
+        private final MutationFactoryPlayer player;
+        private final double interactionRange;
+        private Pos lastPosition;
+        private LivingEntity target;
+        private int misses;
+        private int idleChecks;
+
+        private Sneaker(MutationFactoryPlayer player) {
+            this.player = player;
+            this.interactionRange = player.getAttribute(Attribute.ENTITY_INTERACTION_RANGE).getBaseValue();
+        }
+
+        /**
+         * Check whether the player moved or turned its head enough since the last raycast to look at something else.
+         */
+        private boolean hasMoved(Pos position) {
+            return !position.samePoint(this.lastPosition)
+                    || Math.abs(position.yaw() - this.lastPosition.yaw()) >= ROTATION_THRESHOLD
+                    || Math.abs(position.pitch() - this.lastPosition.pitch()) >= ROTATION_THRESHOLD;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package org.slimecraft.mutationfactory;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+/**
+ * The species that can spawn in a region, each with its own weight, level range and group size. Entries are
+ * picked in constant time through an {@link AliasTable} built from their weights.
+ */
+public final class SpawnTable {
+    private final List<Entry> entries;
+    private final AliasTable weights;
+
+    public SpawnTable(@NotNull List<Entry> entries) {
+        this.entries = List.copyOf(entries);
+        final int[] weights = new int[this.entries.size()];
+        for (int i = 0; i < weights.length; i++) {
+            weights[i] = this.entries.get(i).weight();
+        }
+        this.weights = new AliasTable(weights);
+    }
+
+    public Entry sample(@NotNull RandomGenerator random) {
+        return this.entries.get(this.weights.sample(random));
+    }
+
+    public List<Entry> entries() {
+        return this.entries;
+    }
+
+    /**
+     * A species that can spawn from a table.
+     *
+     * @param weight   the relative chance of the entry being picked
+     * @param minLevel the lowest level a creature of the entry spawns at
+     * @param maxLevel the highest level a creature of the entry spawns at
+     * @param minGroup the least creatures spawned together when the entry is picked
+     * @param maxGroup the most creatures spawned together when the entry is picked
+     */
+    public record Entry(@NotNull SpeciesTemplate template, int weight, int minLevel, int maxLevel, int minGroup, int maxGroup) {
+        /**
+         * Roll the level of a creature of this entry. Low levels are far more common than high ones.
+         */
+        public int rollLevel(@NotNull RandomGenerator random) {
+            return this.minLevel + (int) (Math.pow(random.nextDouble(), 5) * (this.maxLevel - this.minLevel + 1));
+        }
+
+        public int rollGroupSize(@NotNull RandomGenerator random) {
+            return this.minGroup + random.nextInt(this.maxGroup - this.minGroup + 1);
+        }
+    }
+}
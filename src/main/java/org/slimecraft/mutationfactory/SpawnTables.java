@@ -0,0 +1,187 @@
+package org.slimecraft.mutationfactory;
+
+import net.minestom.server.MinecraftServer;
+import net.minestom.server.coordinate.Vec;
+import net.minestom.server.instance.Chunk;
+import net.minestom.server.instance.Instance;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.*;
+
+/**
+ * The spawn tables of the world, loaded from the {@link Config#SPAWNS_FILE} {@link DataFiles data file}. A chunk uses
+ * the table of the first area region containing it, then the table of its biome, then the {@code default} table.
+ * When the file is overridden in the working directory, editing it replaces the tables on the next
+ * {@link #reloadIfModified()}; a file that fails to load leaves the previous tables in place.
+ */
+public final class SpawnTables {
+    private static final String DEFAULT_TABLE = "default";
+
+    private static volatile SpawnTables current = load(DataFiles.read(Config.SPAWNS_FILE));
+    private static FileTime loadedModification = modification();
+
+    private final List<Area> areas;
+    private final Map<String, SpawnTable> biomes;
+    private final SpawnTable fallback;
+
+    private SpawnTables(List<Area> areas, Map<String, SpawnTable> biomes, SpawnTable fallback) {
+        this.areas = List.copyOf(areas);
+        this.biomes = Map.copyOf(biomes);
+        this.fallback = fallback;
+    }
+
+    public static SpawnTables current() {
+        return current;
+    }
+
+    /**
+     * Reload the tables if the override file was created or modified since they were last loaded.
+     *
+     * @return whether the tables were replaced
+     */
+    public static synchronized boolean reloadIfModified() {
+        final FileTime modification = modification();
+        if (Objects.equals(modification, loadedModification)) {
+            return false;
+        }
+        loadedModification = modification;
+        try {
+            current = load(DataFiles.read(Config.SPAWNS_FILE));
+            return true;
+        } catch (IllegalArgumentException | IllegalStateException | UncheckedIOException e) {
+            MinecraftServer.getExceptionManager().handleException(e);
+            return false;
+        }
+    }
+
+    /**
+     * Get the table a creature spawning in the given chunk is picked from. The chunk must be loaded
+     * when no area region contains it, as its biome is then looked at.
+     */
+    public SpawnTable resolve(@NotNull Instance instance, int chunkX, int chunkZ) {
+        final int blockX = chunkX * Chunk.CHUNK_SIZE_X + Chunk.CHUNK_SIZE_X / 2;
+        final int blockZ = chunkZ * Chunk.CHUNK_SIZE_Z + Chunk.CHUNK_SIZE_Z / 2;
+        for (final Area area : this.areas) {
+            if (area.contains(blockX, blockZ)) {
+                return area.table();
+            }
+        }
+        if (!this.biomes.isEmpty()) {
+            final SpawnTable table = this.biomes.get(instance.getBiome(new Vec(blockX, 64, blockZ)).key().asString());
+            if (table != null) {
+                return table;
+            }
+        }
+        return this.fallback;
+    }
+
+    private static @Nullable FileTime modification() {
+        final Path override = DataFiles.override(Config.SPAWNS_FILE);
+        try {
+            return Files.isRegularFile(override) ? Files.getLastModifiedTime(override) : null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Compile the tables declared in the given properties.
+     *
+     * @throws IllegalArgumentException if a table is malformed, refers to an unknown species, or the
+     *                                  {@code default} table is missing
+     */
+    private static SpawnTables load(Properties properties) {
+        final List<Area> areas = new ArrayList<>();
+        final Map<String, SpawnTable> biomes = new HashMap<>();
+        SpawnTable fallback = null;
+        for (final String declared : properties.getProperty("tables", "").split(",")) {
+            final String name = declared.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            final String entries = properties.getProperty(name + ".entries");
+            if (entries == null) {
+                throw new IllegalArgumentException("Spawn table " + name + " has no entries");
+            }
+            final SpawnTable table = new SpawnTable(parseEntries(name, entries));
+            if (name.equals(DEFAULT_TABLE)) {
+                fallback = table;
+            }
+            final String area = properties.getProperty(name + ".area");
+            if (area != null) {
+                areas.add(Area.parse(name, area, table));
+            }
+            final String biome = properties.getProperty(name + ".biome");
+            if (biome != null) {
+                biomes.put(biome.trim(), table);
+            }
+        }
+        if (fallback == null) {
+            throw new IllegalArgumentException("No " + DEFAULT_TABLE + " spawn table declared in " + Config.SPAWNS_FILE);
+        }
+        return new SpawnTables(areas, biomes, fallback);
+    }
+
+    /**
+     * Parse entries of the form {@code <species>:<weight>:<min level>-<max level>:<min group>-<max group>},
+     * separated by commas.
+     */
+    private static List<SpawnTable.Entry> parseEntries(String table, String value) {
+        final List<SpawnTable.Entry> entries = new ArrayList<>();
+        for (final String declared : value.split(",")) {
+            final String[] parts = declared.trim().split(":");
+            if (parts.length != 4) {
+                throw new IllegalArgumentException("Malformed entry " + declared.trim() + " in spawn table " + table);
+            }
+            final SpeciesTemplate template = CreatureRegistry.byKey(parts[0]);
+            if (template == null) {
+                throw new IllegalArgumentException("Unknown species " + parts[0] + " in spawn table " + table);
+            }
+            final int[] levels = parseRange(table, parts[2], Config.MIN_LEVEL);
+            final int[] group = parseRange(table, parts[3], 0);
+            entries.add(new SpawnTable.Entry(template, Integer.parseInt(parts[1]), levels[0], levels[1], group[0], group[1]));
+        }
+        return entries;
+    }
+
+    /**
+     * Parse a range written as {@code <min>-<max>}, or as a single value, whose bounds may not go below the given
+     * lowest value.
+     */
+    private static int[] parseRange(String table, String value, int lowest) {
+        final String[] bounds = value.split("-");
+        final int min = Integer.parseInt(bounds[0]);
+        final int max = bounds.length > 1 ? Integer.parseInt(bounds[1]) : min;
+        if (bounds.length > 2 || min < lowest || max < min) {
+            throw new IllegalArgumentException("Malformed range " + value + " in spawn table " + table);
+        }
+        return new int[]{min, max};
+    }
+
+    /**
+     * A rectangle of blocks, bounds included, using its own table.
+     */
+    private record Area(int minX, int minZ, int maxX, int maxZ, SpawnTable table) {
+        private boolean contains(int x, int z) {
+            return x >= this.minX && x <= this.maxX && z >= this.minZ && z <= this.maxZ;
+        }
+
+        private static Area parse(String table, String value, SpawnTable spawnTable) {
+            final String[] bounds = value.split(",");
+            if (bounds.length != 4) {
+                throw new IllegalArgumentException("Expected <min x>,<min z>,<max x>,<max z> as area of spawn table " + table);
+            }
+            final int x1 = Integer.parseInt(bounds[0].trim());
+            final int z1 = Integer.parseInt(bounds[1].trim());
+            final int x2 = Integer.parseInt(bounds[2].trim());
+            final int z2 = Integer.parseInt(bounds[3].trim());
+            return new Area(Math.min(x1, x2), Math.min(z1, z2), Math.max(x1, x2), Math.max(z1, z2), spawnTable);
+        }
+    }
+}
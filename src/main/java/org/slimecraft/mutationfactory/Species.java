@@ -1,6 +1,27 @@
 package org.slimecraft.mutationfactory;
 
 import net.minestom.server.entity.EntityType;
+import org.jetbrains.annotations.NotNull;
 
-public record Species(EntityType entityType, String name) {
+/**
+ * What a creature is. Species known to the {@link CreatureRegistry} carry the dense id of their template, which is
+ * what comparisons and the {@link SpeciesRelations} go by; species the registry does not know, such as the one of a
+ * creature stored before its species was removed from the data file, are {@link #UNKNOWN}.
+ */
+public record Species(int id, EntityType entityType, String name) {
+    public static final int UNKNOWN = -1;
+
+    public Species(EntityType entityType, String name) {
+        this(UNKNOWN, entityType, name);
+    }
+
+    /**
+     * Check whether both species are the same, comparing ids when the species is known and names otherwise.
+     */
+    public boolean isSame(@NotNull Species other) {
+        if (this.id != UNKNOWN) {
+            return this.id == other.id;
+        }
+        return other.id == UNKNOWN && this.name.equals(other.name);
+    }
 }
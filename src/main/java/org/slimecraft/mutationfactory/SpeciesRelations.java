@@ -0,0 +1,100 @@
+package org.slimecraft.mutationfactory;
+
+import net.minestom.server.entity.Entity;
+import net.minestom.server.entity.Player;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * How the species of the {@link CreatureRegistry} behave towards each other and towards players, as declared in
+ * the {@link Config#SPECIES_FILE species file}. Every {@link Relation} is a bit matrix with one row per species and one
+ * column per species plus a last column for players, so asking whether a creature attacks, flees from or herds with an
+ * entity is a single array lookup. Relations are immutable once loaded.
+ */
+public final class SpeciesRelations {
+    private final int playerColumn;
+    private final int wordsPerRow;
+    private final long[][] matrices;
+
+    private SpeciesRelations(int species) {
+        this.playerColumn = species;
+        this.wordsPerRow = (species + 1 + Long.SIZE - 1) / Long.SIZE;
+        this.matrices = new long[Relation.values().length][species * this.wordsPerRow];
+    }
+
+    /**
+     * Check whether the species has the relation with the given entity; only players and creatures of known
+     * species can be related to.
+     */
+    public boolean test(@NotNull Relation relation, @NotNull Species from, @NotNull Entity to) {
+        if (from.id() == Species.UNKNOWN) {
+            return false;
+        }
+        final int column;
+        if (to instanceof Player) {
+            column = this.playerColumn;
+        } else if (to instanceof final Creature creature && creature.getSpecies().id() != Species.UNKNOWN) {
+            column = creature.getSpecies().id();
+        } else {
+            return false;
+        }
+        return this.test(relation, from.id(), column);
+    }
+
+    private boolean test(Relation relation, int row, int column) {
+        return (this.matrices[relation.ordinal()][row * this.wordsPerRow + (column >>> 6)] & (1L << column)) != 0;
+    }
+
+    /**
+     * Check whether the species has the relation with anything at all.
+     */
+    public boolean any(@NotNull Relation relation, @NotNull Species from) {
+        if (from.id() == Species.UNKNOWN) {
+            return false;
+        }
+        final long[] matrix = this.matrices[relation.ordinal()];
+        for (int word = 0; word < this.wordsPerRow; word++) {
+            if (matrix[from.id() * this.wordsPerRow + word] != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public static Builder builder(int species) {
+        return new Builder(new SpeciesRelations(species));
+    }
+
+    public enum Relation {
+        ATTACKS,
+        FLEES,
+        HERDS
+    }
+
+    /**
+     * Fills the matrices of relations before they are handed out; a builder must not be used after {@link #build()}.
+     */
+    public static final class Builder {
+        private final SpeciesRelations relations;
+
+        private Builder(SpeciesRelations relations) {
+            this.relations = relations;
+        }
+
+        public Builder species(@NotNull Relation relation, int from, int to) {
+            return this.set(relation, from, to);
+        }
+
+        public Builder player(@NotNull Relation relation, int from) {
+            return this.set(relation, from, this.relations.playerColumn);
+        }
+
+        private Builder set(Relation relation, int row, int column) {
+            this.relations.matrices[relation.ordinal()][row * this.relations.wordsPerRow + (column >>> 6)] |= 1L << column;
+            return this;
+        }
+
+        public SpeciesRelations build() {
+            return this.relations;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package org.slimecraft.mutationfactory;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Everything the {@link CreatureRegistry} knows about a species, resolved once when the registry is loaded. The
+ * {@link Species} is shared by every creature built from the template; the prototype stats are copied into every
+ * creature and must never be modified themselves.
+ *
+ * @param id     the dense index of the template in the registry
+ * @param key    the identifier the species is declared under in the data file
+ * @param weight the relative chance of the species being picked by {@link CreatureRegistry#random()}
+ */
+public record SpeciesTemplate(
+        int id,
+        @NotNull String key,
+        @NotNull Species species,
+        int breedTime,
+        int weight,
+        @NotNull StatBlock stats,
+        @NotNull CreatureAiFactory ai
+) {
+    /**
+     * Build a wild creature of this species.
+     */
+    public Creature create() {
+        return this.builder().build();
+    }
+
+    /**
+     * Get a builder for a creature of this species, already carrying the species AI.
+     */
+    public Creature.Builder builder() {
+        return Creature.builder(this.species, this.breedTime, this.stats)
+                .configurator(this.ai::apply);
+    }
+}
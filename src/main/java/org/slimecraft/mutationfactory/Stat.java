@@ -35,7 +35,18 @@ public class Stat {
         return this.currentValue;
     }
 
+    public float getIncrementValue() {
+        return this.incrementValue;
+    }
+
     public int getPoints() {
         return this.points;
     }
+
+    /**
+     * Copy this stat so the copy can be upgraded without affecting the original.
+     */
+    public Stat copy() {
+        return new Stat(this.baseValue, this.currentValue, this.incrementValue, this.points);
+    }
 }
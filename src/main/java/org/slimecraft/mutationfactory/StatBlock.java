@@ -0,0 +1,221 @@
+package org.slimecraft.mutationfactory;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Every {@link Stat} of a creature, laid out as parallel primitive arrays indexed by stat id. The seven core
+ * stats always occupy the first ids; additional stats follow them. A block is a value: creatures copy the block
+ * they are built from, so upgrading one creature never affects another, and batch operations over the whole
+ * block are simple loops over primitive arrays.
+ */
+public final class StatBlock {
+    public static final int HEALTH = 0;
+    public static final int STAMINA = 1;
+    public static final int OXYGEN = 2;
+    public static final int FOOD = 3;
+    public static final int WEIGHT = 4;
+    public static final int MELEE = 5;
+    public static final int SPEED = 6;
+    public static final int CORE_STATS = 7;
+
+    private final float[] base;
+    private final float[] current;
+    private final float[] increment;
+    private final int[] points;
+    private final int[] mutations;
+
+    /**
+     * Construct an empty block with room for the core stats and the given amount of additional stats.
+     */
+    public StatBlock(int additionalStats) {
+        final int size = CORE_STATS + additionalStats;
+        this.base = new float[size];
+        this.current = new float[size];
+        this.increment = new float[size];
+        this.points = new int[size];
+        this.mutations = new int[size];
+    }
+
+    private StatBlock(StatBlock other) {
+        this.base = other.base.clone();
+        this.current = other.current.clone();
+        this.increment = other.increment.clone();
+        this.points = other.points.clone();
+        this.mutations = other.mutations.clone();
+    }
+
+    public static StatBlock of(
+            @NotNull Stat health,
+            @NotNull Stat stamina,
+            @NotNull Stat oxygen,
+            @NotNull Stat food,
+            @NotNull Stat weight,
+            @NotNull Stat melee,
+            @NotNull Stat speed,
+            @NotNull List<Stat> additionalStats
+    ) {
+        final StatBlock block = new StatBlock(additionalStats.size());
+        block.set(HEALTH, health);
+        block.set(STAMINA, stamina);
+        block.set(OXYGEN, oxygen);
+        block.set(FOOD, food);
+        block.set(WEIGHT, weight);
+        block.set(MELEE, melee);
+        block.set(SPEED, speed);
+        for (int i = 0; i < additionalStats.size(); i++) {
+            block.set(CORE_STATS + i, additionalStats.get(i));
+        }
+        return block;
+    }
+
+    public void set(int stat, @NotNull Stat value) {
+        this.set(stat, value.getBaseValue(), value.getCurrentValue(), value.getIncrementValue(), value.getPoints());
+    }
+
+    public void set(int stat, float base, float current, float increment, int points) {
+        this.base[stat] = base;
+        this.current[stat] = current;
+        this.increment[stat] = increment;
+        this.points[stat] = points;
+    }
+
+    /**
+     * Take over every value of the given stat from another block of the same layout, mutations included.
+     */
+    public void inherit(int stat, @NotNull StatBlock from) {
+        this.base[stat] = from.base[stat];
+        this.current[stat] = from.current[stat];
+        this.increment[stat] = from.increment[stat];
+        this.points[stat] = from.points[stat];
+        this.mutations[stat] = from.mutations[stat];
+    }
+
+    public int size() {
+        return this.base.length;
+    }
+
+    public int additionalStats() {
+        return this.base.length - CORE_STATS;
+    }
+
+    public float getBase(int stat) {
+        return this.base[stat];
+    }
+
+    public float getCurrent(int stat) {
+        return this.current[stat];
+    }
+
+    public float getIncrement(int stat) {
+        return this.increment[stat];
+    }
+
+    public int getPoints(int stat) {
+        return this.points[stat];
+    }
+
+    /**
+     * Get the amount of mutations the given stat went through over the creature's lineage.
+     */
+    public int getMutations(int stat) {
+        return this.mutations[stat];
+    }
+
+    public void setMutations(int stat, int mutations) {
+        this.mutations[stat] = mutations;
+    }
+
+    /**
+     * Get the amount of mutations over every stat.
+     */
+    public int totalMutations() {
+        int total = 0;
+        for (final int count : this.mutations) {
+            total += count;
+        }
+        return total;
+    }
+
+    /**
+     * Mutate the given stat, granting it the given amount of points for free.
+     */
+    public void mutate(int stat, int points) {
+        this.mutations[stat]++;
+        this.upgrade(stat, points);
+    }
+
+    /**
+     * Spend a single point on the given stat.
+     */
+    public void upgrade(int stat) {
+        this.upgrade(stat, 1);
+    }
+
+    public void upgrade(int stat, int amount) {
+        this.points[stat] += amount;
+        this.current[stat] += this.increment[stat] * amount;
+    }
+
+    /**
+     * Spend the given amount of points on every stat at once.
+     */
+    public void upgradeAll(int amount) {
+        for (int i = 0; i < this.base.length; i++) {
+            this.points[i] += amount;
+            this.current[i] += this.increment[i] * amount;
+        }
+    }
+
+    /**
+     * Multiply the current value of every stat, e.g. to scale a block to a creature's level.
+     */
+    public void scale(float factor) {
+        for (int i = 0; i < this.current.length; i++) {
+            this.current[i] *= factor;
+        }
+    }
+
+    public StatBlock copy() {
+        return new StatBlock(this);
+    }
+
+    /**
+     * Overwrite this block with the values of a block of the same size.
+     */
+    public void copyFrom(@NotNull StatBlock other) {
+        if (other.size() != this.size()) {
+            throw new IllegalArgumentException("Cannot copy a block of " + other.size() + " stats into one of " + this.size());
+        }
+        System.arraycopy(other.base, 0, this.base, 0, this.base.length);
+        System.arraycopy(other.current, 0, this.current, 0, this.current.length);
+        System.arraycopy(other.increment, 0, this.increment, 0, this.increment.length);
+        System.arraycopy(other.points, 0, this.points, 0, this.points.length);
+        System.arraycopy(other.mutations, 0, this.mutations, 0, this.mutations.length);
+    }
+
+    /**
+     * Get a detached {@link Stat} holding the values of the given stat.
+     */
+    public Stat toStat(int stat) {
+        return new Stat(this.base[stat], this.current[stat], this.increment[stat], this.points[stat]);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (!(o instanceof final StatBlock other)) return false;
+        return Arrays.equals(base, other.base) && Arrays.equals(current, other.current) && Arrays.equals(increment, other.increment) && Arrays.equals(points, other.points) && Arrays.equals(mutations, other.mutations);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = Arrays.hashCode(base);
+        result = 31 * result + Arrays.hashCode(current);
+        result = 31 * result + Arrays.hashCode(increment);
+        result = 31 * result + Arrays.hashCode(points);
+        result = 31 * result + Arrays.hashCode(mutations);
+        return result;
+    }
+}
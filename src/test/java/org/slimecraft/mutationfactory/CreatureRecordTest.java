@@ -0,0 +1,217 @@
+package org.slimecraft.mutationfactory;
+
+import net.minestom.server.coordinate.Pos;
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CreatureRecordTest {
+    private static final UUID UUID_A = UUID.fromString("4f3c2a10-8d1e-4b7a-9c55-0123456789ab");
+    private static final UUID OWNER = UUID.fromString("a1b2c3d4-e5f6-4789-8abc-def012345678");
+    private static final Pos POSITION = new Pos(12.5, 64, -301.25, 90.5f, -12.25f);
+
+    @Test
+    void roundTripKeepsEveryStatField() {
+        final CreatureRecord record = record(stats(0), OWNER, true, true);
+        final CreatureRecord decoded = CreatureRecord.decode(record.encode());
+
+        assertEquals(record, decoded);
+        for (int stat = 0; stat < StatBlock.CORE_STATS; stat++) {
+            assertEquals(record.stats().getBase(stat), decoded.stats().getBase(stat));
+            assertEquals(record.stats().getCurrent(stat), decoded.stats().getCurrent(stat));
+            assertEquals(record.stats().getIncrement(stat), decoded.stats().getIncrement(stat));
+            assertEquals(record.stats().getPoints(stat), decoded.stats().getPoints(stat));
+            assertEquals(record.stats().getMutations(stat), decoded.stats().getMutations(stat));
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 3, 17})
+    void roundTripKeepsAdditionalStats(int additionalStats) {
+        final CreatureRecord record = record(stats(additionalStats), OWNER, false, true);
+        final CreatureRecord decoded = CreatureRecord.decode(record.encode());
+
+        assertEquals(additionalStats, decoded.stats().additionalStats());
+        assertEquals(StatBlock.CORE_STATS + additionalStats, decoded.stats().size());
+        assertEquals(record.stats(), decoded.stats());
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "false, false, false",
+            "true, false, false",
+            "false, true, false",
+            "false, true, true",
+            "true, true, true",
+            "true, false, true"
+    })
+    void roundTripKeepsFlags(boolean male, boolean tamed, boolean owned) {
+        final CreatureRecord record = record(stats(0), owned ? OWNER : null, male, tamed);
+        final CreatureRecord decoded = CreatureRecord.decode(record.encode());
+
+        assertEquals(male, decoded.male());
+        assertEquals(tamed, decoded.tamed());
+        assertEquals(owned ? OWNER : null, decoded.owner());
+        assertEquals(record, decoded);
+    }
+
+    @Test
+    void encodingStartsWithTheCurrentVersion() {
+        assertEquals(CreatureRecord.VERSION, record(stats(0), OWNER, true, true).encode()[0]);
+    }
+
+    @Test
+    void decodesVersion1() {
+        final CreatureRecord record = record(stats(2), null, true, true);
+        final CreatureRecord decoded = CreatureRecord.decode(encodeLegacy(record, 1));
+
+        assertNull(decoded.uuid());
+        assertNull(decoded.owner());
+        assertEquals(Pos.ZERO, decoded.position());
+        assertCommonFields(record, decoded);
+        assertEquals(record.breedTime(), decoded.breedingTimeRemaining());
+        assertStatsWithoutMutations(record.stats(), decoded.stats());
+    }
+
+    @Test
+    void decodesVersion2() {
+        final CreatureRecord record = record(stats(2), OWNER, false, true);
+        final CreatureRecord decoded = CreatureRecord.decode(encodeLegacy(record, 2));
+
+        assertEquals(UUID_A, decoded.uuid());
+        assertEquals(OWNER, decoded.owner());
+        assertEquals(POSITION, decoded.position());
+        assertCommonFields(record, decoded);
+        assertEquals(record.breedTime(), decoded.breedingTimeRemaining());
+        assertStatsWithoutMutations(record.stats(), decoded.stats());
+    }
+
+    @Test
+    void decodesVersion2WithoutOwner() {
+        final CreatureRecord record = record(stats(0), null, true, false);
+        final CreatureRecord decoded = CreatureRecord.decode(encodeLegacy(record, 2));
+
+        assertNull(decoded.owner());
+        assertFalse(decoded.tamed());
+    }
+
+    @Test
+    void decodesVersion3() {
+        final CreatureRecord record = record(stats(2), OWNER, true, true);
+        final CreatureRecord decoded = CreatureRecord.decode(encodeLegacy(record, 3));
+
+        assertEquals(UUID_A, decoded.uuid());
+        assertEquals(OWNER, decoded.owner());
+        assertEquals(POSITION, decoded.position());
+        assertCommonFields(record, decoded);
+        assertEquals(record.breedingTimeRemaining(), decoded.breedingTimeRemaining());
+        assertStatsWithoutMutations(record.stats(), decoded.stats());
+    }
+
+    @ParameterizedTest
+    @ValueSource(bytes = {0, -1, CreatureRecord.VERSION + 1})
+    void rejectsUnknownVersions(byte version) {
+        final byte[] bytes = record(stats(0), OWNER, true, true).encode();
+        bytes[0] = version;
+
+        assertThrows(IllegalArgumentException.class, () -> CreatureRecord.decode(bytes));
+    }
+
+    private static void assertCommonFields(CreatureRecord expected, CreatureRecord actual) {
+        assertEquals(expected.entityTypeId(), actual.entityTypeId());
+        assertEquals(expected.speciesName(), actual.speciesName());
+        assertEquals(expected.level(), actual.level());
+        assertEquals(expected.male(), actual.male());
+        assertEquals(expected.tamed(), actual.tamed());
+        assertEquals(expected.breedTime(), actual.breedTime());
+    }
+
+    private static void assertStatsWithoutMutations(StatBlock expected, StatBlock actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int stat = 0; stat < expected.size(); stat++) {
+            assertEquals(expected.getBase(stat), actual.getBase(stat));
+            assertEquals(expected.getCurrent(stat), actual.getCurrent(stat));
+            assertEquals(expected.getIncrement(stat), actual.getIncrement(stat));
+            assertEquals(expected.getPoints(stat), actual.getPoints(stat));
+            assertEquals(0, actual.getMutations(stat));
+        }
+    }
+
+    private static CreatureRecord record(StatBlock stats, @Nullable UUID owner, boolean male, boolean tamed) {
+        return new CreatureRecord(UUID_A, owner, POSITION, 42, "Jumbuck \u00e9", 87, male, tamed, 30, 17, stats);
+    }
+
+    /**
+     * Build a block whose every field of every stat holds a different value.
+     */
+    private static StatBlock stats(int additionalStats) {
+        final StatBlock stats = new StatBlock(additionalStats);
+        for (int stat = 0; stat < stats.size(); stat++) {
+            stats.set(stat, 10 + stat, 20.5f + stat, 0.25f * (stat + 1), 3 * stat + 1);
+            stats.setMutations(stat, stat % 4);
+        }
+        return stats;
+    }
+
+    /**
+     * Encode the record the way the given older version of the server wrote it: version 1 had no UUID, owner nor
+     * position and wrote the amount of additional stats after the core stats, version 2 added those three fields with
+     * the amount before every stat, version 3 added the breeding time remaining and version 4 the mutations.
+     */
+    private static byte[] encodeLegacy(CreatureRecord record, int version) {
+        final byte[] name = record.speciesName().getBytes(StandardCharsets.UTF_8);
+        final ByteBuffer buffer = ByteBuffer.allocate(1024);
+        buffer.put((byte) version);
+        if (version >= 2) {
+            putUuid(buffer, record.uuid());
+            putUuid(buffer, record.owner());
+            buffer.putDouble(record.position().x());
+            buffer.putDouble(record.position().y());
+            buffer.putDouble(record.position().z());
+            buffer.putFloat(record.position().yaw());
+            buffer.putFloat(record.position().pitch());
+        }
+        buffer.putInt(record.entityTypeId());
+        buffer.putShort((short) name.length);
+        buffer.put(name);
+        buffer.putInt(record.level());
+        buffer.put((byte) ((record.male() ? 1 : 0) | (record.tamed() ? 1 << 1 : 0) | (record.owner() != null ? 1 << 2 : 0)));
+        buffer.putInt(record.breedTime());
+        if (version >= 3) {
+            buffer.putInt(record.breedingTimeRemaining());
+        }
+        if (version == 1) {
+            putStats(buffer, record.stats(), 0, StatBlock.CORE_STATS);
+            buffer.putShort((short) record.stats().additionalStats());
+            putStats(buffer, record.stats(), StatBlock.CORE_STATS, record.stats().size());
+        } else {
+            buffer.putShort((short) record.stats().additionalStats());
+            putStats(buffer, record.stats(), 0, record.stats().size());
+        }
+        final byte[] bytes = new byte[buffer.position()];
+        buffer.flip().get(bytes);
+        return bytes;
+    }
+
+    private static void putStats(ByteBuffer buffer, StatBlock stats, int from, int to) {
+        for (int stat = from; stat < to; stat++) {
+            buffer.putFloat(stats.getBase(stat));
+            buffer.putFloat(stats.getCurrent(stat));
+            buffer.putFloat(stats.getIncrement(stat));
+            buffer.putInt(stats.getPoints(stat));
+        }
+    }
+
+    private static void putUuid(ByteBuffer buffer, @Nullable UUID uuid) {
+        buffer.putLong(uuid == null ? 0 : uuid.getMostSignificantBits());
+        buffer.putLong(uuid == null ? 0 : uuid.getLeastSignificantBits());
+    }
+}
@@ -0,0 +1,274 @@
+package org.slimecraft.mutationfactory;
+
+import net.minestom.server.coordinate.Pos;
+import net.minestom.server.instance.InstanceContainer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Runs the creature subsystems with the chunks of an instance ticked by {@link TestServer#DISPATCHER_THREADS}
+ * threads, and hammers the structures they share from as many threads at once. The scaling run compares against a
+ * single thread in JVMs of their own, since the thread count of a server is fixed once it is initialized.
+ */
+class ParallelTickTest {
+    private static final int THREADS = TestServer.DISPATCHER_THREADS;
+    private static final int RADIUS = 6;
+    private static final int SPAWN_RADIUS = 4;
+    private static final int SCALING_RADIUS = 12;
+    private static final int SCALING_SPAWN_RADIUS = 10;
+    private static final int SCALING_CREATURES = 8_000;
+    private static final double MIN_SPEEDUP = 2;
+    private static final String TICK_NANOS = "tick-nanos=";
+
+    private InstanceContainer instance;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        this.instance = TestServer.createInstance(RADIUS);
+        this.executor = Executors.newFixedThreadPool(THREADS);
+        TestServer.drainErrors();
+    }
+
+    @AfterEach
+    void tearDown() {
+        this.executor.shutdownNow();
+        TestServer.destroy(this.instance);
+    }
+
+    @Test
+    void mailboxRunsEveryPostedActionOnceAndAlone() throws Exception {
+        final int perThread = 10_000;
+        final InstanceMailbox mailbox = InstanceMailbox.of(this.instance);
+        final AtomicInteger running = new AtomicInteger();
+        final AtomicInteger overlaps = new AtomicInteger();
+        final List<List<Integer>> runs = new ArrayList<>();
+        for (int thread = 0; thread < THREADS; thread++) {
+            runs.add(new ArrayList<>());
+        }
+        this.runConcurrently(thread -> {
+            final List<Integer> run = runs.get(thread);
+            for (int i = 0; i < perThread; i++) {
+                final int sequence = i;
+                mailbox.post(() -> {
+                    if (running.incrementAndGet() > 1) {
+                        overlaps.incrementAndGet();
+                    }
+                    run.add(sequence);
+                    running.decrementAndGet();
+                });
+            }
+        });
+
+        TestServer.tick();
+
+        assertEquals(0, mailbox.size());
+        assertEquals(0, overlaps.get());
+        for (final List<Integer> run : runs) {
+            assertEquals(perThread, run.size());
+            for (int i = 0; i < perThread; i++) {
+                assertEquals(i, run.get(i));
+            }
+        }
+    }
+
+    @Test
+    void everyCreatureThinksEveryTick() {
+        final int creatures = 2_000;
+        final int ticks = 40;
+        this.spawn(creatures);
+        final CreatureAiScheduler scheduler = CreatureAiScheduler.of(this.instance);
+
+        for (int tick = 0; tick < ticks; tick++) {
+            TestServer.tick();
+        }
+
+        assertEquals(List.of(), TestServer.drainErrors());
+        assertEquals((long) creatures * ticks, scheduler.getEvaluated() + scheduler.getDeferrals());
+        assertEquals(0, scheduler.getSkipped());
+    }
+
+    @Test
+    void gridFollowsCreaturesMovedByEveryThread() {
+        final List<Creature> creatures = this.spawn(2_000);
+        for (int tick = 0; tick < 100; tick++) {
+            TestServer.tick();
+        }
+
+        final CreatureGrid grid = CreatureGrid.of(this.instance);
+        assertEquals(List.of(), TestServer.drainErrors());
+        assertEquals(creatures.size(), grid.size());
+        for (final Creature creature : creatures) {
+            final Pos position = creature.getPosition();
+            final Creature found = grid.closest(position, 0.5, candidate -> candidate == creature);
+            assertSame(creature, found, () -> "Creature at " + position + " is not in its grid cell");
+        }
+    }
+
+    @Test
+    void rosterStaysConsistentUnderConcurrentChurn() throws Exception {
+        final UUID owner = UUID.randomUUID();
+        final List<Creature> creatures = this.spawn(800);
+        for (final Creature creature : creatures) {
+            creature.setOwner(owner);
+            CreatureRoster.register(creature);
+        }
+
+        this.runConcurrently(thread -> {
+            final SplittableRandom random = new SplittableRandom(thread);
+            for (int i = 0; i < 10_000; i++) {
+                final Creature creature = creatures.get(random.nextInt(creatures.size()));
+                CreatureRoster.unregister(creature);
+                CreatureRoster.register(creature);
+            }
+        });
+
+        assertEquals(creatures.size(), CreatureRoster.byInstance(this.instance).size());
+        assertEquals(creatures.size(), CreatureRoster.byOwner(owner).size());
+        for (final Creature creature : creatures) {
+            assertSame(creature, CreatureRoster.get(creature.getUuid()));
+            assertTrue(CreatureRoster.bySpecies(creature.getSpecies()).contains(creature));
+        }
+        for (final Creature creature : creatures) {
+            CreatureRoster.unregister(creature);
+        }
+        assertTrue(CreatureRoster.byOwner(owner).isEmpty());
+    }
+
+    /**
+     * Tick the same populated instance with its chunks ticked by one thread, then by {@link #THREADS}, each in a JVM
+     * of its own, and expect the tick to get at least {@link #MIN_SPEEDUP} times faster. Skipped on machines with
+     * fewer cores than threads, where no speedup is to be had.
+     */
+    @Test
+    void tickScalesWithDispatcherThreads() throws Exception {
+        assumeTrue(Runtime.getRuntime().availableProcessors() >= THREADS,
+                () -> "Needs " + THREADS + " cores, has " + Runtime.getRuntime().availableProcessors());
+
+        final long single = timeTicks(1);
+        final long parallel = timeTicks(THREADS);
+
+        final double speedup = (double) single / parallel;
+        System.out.printf("Tick of %d creatures: %d ns on 1 thread, %d ns on %d threads, %.2fx speedup%n",
+                SCALING_CREATURES, single, parallel, THREADS, speedup);
+        assertTrue(speedup >= MIN_SPEEDUP, () -> String.format("Only %.2fx faster on %d threads", speedup, THREADS));
+    }
+
+    /**
+     * Run {@link ScalingRun} in a new JVM with the given amount of dispatcher threads, and get the average nanoseconds
+     * it measured per tick.
+     */
+    private static long timeTicks(int threads) throws Exception {
+        final String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+        final Process process = new ProcessBuilder(java,
+                "-Dmutationfactory.ai-budget-nanos=" + Long.MAX_VALUE,
+                "-cp", System.getProperty("java.class.path"),
+                ScalingRun.class.getName(), String.valueOf(threads))
+                .redirectErrorStream(true)
+                .start();
+        final List<String> output = new ArrayList<>();
+        try (BufferedReader reader = process.inputReader()) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                output.add(line);
+            }
+        }
+        assertTrue(process.waitFor(5, TimeUnit.MINUTES), "The scaling run did not finish");
+        assertEquals(0, process.exitValue(), () -> String.join(System.lineSeparator(), output));
+        for (final String line : output) {
+            if (line.startsWith(TICK_NANOS)) {
+                return Long.parseLong(line.substring(TICK_NANOS.length()));
+            }
+        }
+        return fail("The scaling run reported no tick time:" + System.lineSeparator()
+                + String.join(System.lineSeparator(), output));
+    }
+
+    /**
+     * Spawn wild creatures of a passive species, so none of them dies during a test, spread over the chunks within
+     * {@link #SPAWN_RADIUS}, far enough from the unloaded chunks that none of them wanders out.
+     */
+    private List<Creature> spawn(int count) {
+        return spawn(this.instance, count, SPAWN_RADIUS);
+    }
+
+    private static List<Creature> spawn(InstanceContainer instance, int count, int spawnRadius) {
+        final SplittableRandom random = new SplittableRandom(0);
+        final double extent = spawnRadius * 16;
+        final List<Creature> creatures = new ArrayList<>(count);
+        final CompletableFuture<?>[] spawns = new CompletableFuture<?>[count];
+        for (int i = 0; i < count; i++) {
+            final Creature creature = CreatureRegistry.of("sheep");
+            creatures.add(creature);
+            spawns[i] = creature.setInstance(instance,
+                    new Pos(random.nextDouble(-extent, extent), 40, random.nextDouble(-extent, extent)));
+        }
+        CompletableFuture.allOf(spawns).join();
+        return creatures;
+    }
+
+    /**
+     * Run the task on every thread of the pool at once, each given its own index, and wait for all of them.
+     */
+    private void runConcurrently(ThreadTask task) throws Exception {
+        final CountDownLatch start = new CountDownLatch(1);
+        final List<Future<?>> futures = new ArrayList<>();
+        for (int thread = 0; thread < THREADS; thread++) {
+            final int index = thread;
+            futures.add(this.executor.submit(() -> {
+                start.await();
+                task.run(index);
+                return null;
+            }));
+        }
+        start.countDown();
+        for (final Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+    }
+
+    @FunctionalInterface
+    private interface ThreadTask {
+        void run(int thread);
+    }
+
+    /**
+     * Populates an instance of a server ticked by the amount of threads given as argument, and prints the average
+     * nanoseconds a tick took once warmed up. The AI budget is lifted by the caller, so every creature thinks every
+     * tick whatever the thread count.
+     */
+    static final class ScalingRun {
+        private static final int WARMUP_TICKS = 100;
+        private static final int MEASURED_TICKS = 200;
+
+        public static void main(String[] args) {
+            TestServer.init(Integer.parseInt(args[0]));
+            final InstanceContainer instance = TestServer.createInstance(SCALING_RADIUS);
+            spawn(instance, SCALING_CREATURES, SCALING_SPAWN_RADIUS);
+            for (int tick = 0; tick < WARMUP_TICKS; tick++) {
+                TestServer.tick();
+            }
+            final long start = System.nanoTime();
+            for (int tick = 0; tick < MEASURED_TICKS; tick++) {
+                TestServer.tick();
+            }
+            System.out.println(TICK_NANOS + (System.nanoTime() - start) / MEASURED_TICKS);
+            final List<Throwable> errors = TestServer.drainErrors();
+            errors.forEach(Throwable::printStackTrace);
+            System.exit(errors.isEmpty() ? 0 : 1);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package org.slimecraft.mutationfactory;
+
+import net.minestom.server.MinecraftServer;
+import net.minestom.server.instance.InstanceContainer;
+import net.minestom.server.instance.block.Block;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * An in-process server shared by every test of the run. The server is initialized but never started, so no network
+ * socket is opened; it only ticks when a test ticks it, with its chunks ticked by {@link #DISPATCHER_THREADS} threads.
+ * No player ever joins, so the AI level of detail is turned off for the creatures to think at all.
+ */
+public final class TestServer {
+    public static final int DISPATCHER_THREADS = 8;
+    private static final List<Throwable> ERRORS = new CopyOnWriteArrayList<>();
+    private static boolean initialized;
+
+    private TestServer() {
+    }
+
+    /**
+     * Initialize the server the first time it is asked for.
+     */
+    public static void init() {
+        init(DISPATCHER_THREADS);
+    }
+
+    /**
+     * Initialize the server the first time it is asked for, with its chunks ticked by the given amount of threads.
+     * The amount is fixed for the rest of the JVM, so only a JVM of its own may ask for another one than
+     * {@link #DISPATCHER_THREADS}.
+     */
+    public static synchronized void init(int threads) {
+        if (initialized) {
+            return;
+        }
+        System.setProperty("minestom.dispatcher-threads", String.valueOf(threads));
+        System.setProperty("mutationfactory.ai-level-of-detail", "false");
+        MinecraftServer.init();
+        MinecraftServer.getExceptionManager().setExceptionHandler(ERRORS::add);
+        initialized = true;
+    }
+
+    /**
+     * Create a flat instance with the chunks within the given radius, in chunks, of the origin already loaded.
+     */
+    public static InstanceContainer createInstance(int radius) {
+        init();
+        final InstanceContainer instance = MinecraftServer.getInstanceManager().createInstanceContainer();
+        instance.setGenerator(unit -> unit.modifier().fillHeight(0, 40, Block.STONE));
+        for (int x = -radius; x <= radius; x++) {
+            for (int z = -radius; z <= radius; z++) {
+                instance.loadChunk(x, z).join();
+            }
+        }
+        return instance;
+    }
+
+    public static void tick() {
+        MinecraftServer.process().ticker().tick(System.nanoTime());
+    }
+
+    /**
+     * Get the exceptions the server reported since the last call, and forget them.
+     */
+    public static List<Throwable> drainErrors() {
+        final List<Throwable> errors = List.copyOf(ERRORS);
+        ERRORS.removeAll(errors);
+        return errors;
+    }
+
+    public static void destroy(InstanceContainer instance) {
+        MinecraftServer.getInstanceManager().unregisterInstance(instance);
+    }
+}